@@ -78,6 +78,18 @@ variable "external_api_url" {
   default     = "https://exchange-staging.motiveintegrator.com/v2/repairorder/mix-mockservice/roNum/73859"
 }
 
+variable "external_api_base_url" {
+  description = "External API base URL used by the parameterized routes in routes.json"
+  type        = string
+  default     = "https://exchange-staging.motiveintegrator.com"
+}
+
+variable "service_handler" {
+  description = "Handler of the upstream proxy Lambda; ApiHandler serves stream routes buffered"
+  type        = string
+  default     = "com.project.service.StreamingApiHandler::handleRequest"
+}
+
 variable "oauth2_timeout_seconds" {
   description = "OAuth2 token request timeout in seconds"
   type        = number
@@ -176,7 +188,7 @@ resource "aws_lambda_function" "token_auth_lambda" {
   filename         = "${path.module}/../../service/target/service-1.0-SNAPSHOT.jar"
   function_name    = "my-token-auth-lambda"
   role             = aws_iam_role.lambda_execution_role.arn
-  handler          = "com.project.service.ApiHandler::handleRequest"
+  handler          = var.service_handler
   runtime          = "java21"
   timeout          = 60
   memory_size      = 512
@@ -190,7 +202,8 @@ resource "aws_lambda_function" "token_auth_lambda" {
       OAUTH2_TIMEOUT_SECONDS = var.oauth2_timeout_seconds
 
       # External API Configuration
-      EXTERNAL_API_URL = var.external_api_url
+      EXTERNAL_API_URL      = var.external_api_url
+      EXTERNAL_API_BASE_URL = var.external_api_base_url
 
       # General Configuration
       LAMBDA_AWS_REGION = var.aws_region
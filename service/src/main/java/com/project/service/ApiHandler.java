@@ -5,28 +5,20 @@ import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
 import com.project.service.client.ExternalApiClient;
-import com.project.service.exception.ExternalApiException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
 import software.amazon.lambda.powertools.logging.Logging;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Buffered entry point over the shared {@link UpstreamProxy} request path. Stream routes are served buffered
+ * here; deploy {@link StreamingApiHandler} to pipe them.
+ */
 public class ApiHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
 
     private static final Logger log = LogManager.getLogger(ApiHandler.class);
 
-    // Reusable unmodifiable headers map to avoid per-request allocations
-    private static final Map<String, String> DEFAULT_HEADERS;
-    static {
-        Map<String, String> m = new HashMap<>();
-        m.put("Content-Type", "application/json");
-        m.put("Access-Control-Allow-Origin", "*");
-        DEFAULT_HEADERS = Collections.unmodifiableMap(m);
-    }
+    private static final UpstreamProxy PROXY = UpstreamProxy.initialize();
 
     @Logging(logEvent = true)
     @Override
@@ -44,41 +36,24 @@ public class ApiHandler implements RequestHandler<APIGatewayProxyRequestEvent, A
                     request != null ? request.getHttpMethod() : "null",
                     context != null ? context.getAwsRequestId() : "null");
 
-            try {
-                String response = callExternalApi();
-                return buildSuccessResponse(response, 200);
-
-            } catch (ExternalApiException e) {
-                log.error("External API error: {}", e.getMessage(), e);
-                return buildErrorResponse("External API error: " + e.getMessage(), 502);
-
-            } catch (Exception e) {
-                log.error("Unexpected error processing request", e);
-                return buildErrorResponse("Internal server error", 500);
-            }
+            UpstreamProxy.Outcome outcome = request == null
+                    ? PROXY.handle(null, null, null, null, null, false, context, false)
+                    : PROXY.handle(request.getHttpMethod(), request.getPath(), request.getQueryStringParameters(),
+                            request.getHeaders(), request.getBody(), Boolean.TRUE.equals(request.getIsBase64Encoded()),
+                            context, false);
+            return buildResponse(outcome.body(), outcome.statusCode());
 
         } finally {
+            ExternalApiClient.flushMetrics();
             ThreadContext.clearAll();
         }
     }
 
-    private String callExternalApi() {
-        return ExternalApiClient.getInstance().callExternalApi();
-    }
-
-    private APIGatewayProxyResponseEvent buildSuccessResponse(String body, int statusCode) {
+    private APIGatewayProxyResponseEvent buildResponse(String body, int statusCode) {
         APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
         response.setStatusCode(statusCode);
         response.setBody(body);
-        response.setHeaders(DEFAULT_HEADERS);
-        return response;
-    }
-
-    private APIGatewayProxyResponseEvent buildErrorResponse(String message, int statusCode) {
-        APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
-        response.setStatusCode(statusCode);
-        response.setBody("{\"error\": \"" + message + "\"}");
-        response.setHeaders(DEFAULT_HEADERS);
+        response.setHeaders(UpstreamProxy.DEFAULT_HEADERS);
         return response;
     }
 
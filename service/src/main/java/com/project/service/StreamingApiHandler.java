@@ -0,0 +1,167 @@
+package com.project.service;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestStreamHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.service.client.ContentEncoding;
+import com.project.service.client.ExternalApiClient;
+import com.project.service.exception.ExternalApiException;
+import com.project.service.routing.JsonProjection;
+import com.project.service.routing.UpstreamRequest;
+import com.project.service.util.ProxyResponseWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import software.amazon.lambda.powertools.logging.Logging;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@code RequestStreamHandler} entry point over the shared {@link UpstreamProxy} request path: the API Gateway
+ * event is read as a JSON tree and the proxy response is written to the output stream directly.
+ * <p>
+ * Routes marked {@code "stream": true} pipe the upstream body through without decoding it into a
+ * {@code String} first; they bypass the response cache and request coalescing. Other routes behave exactly as
+ * in {@code ApiHandler}. The Java managed runtime still buffers the handler output, so the 6 MB response limit
+ * of a buffered invocation applies.
+ */
+public class StreamingApiHandler implements RequestStreamHandler {
+
+    private static final Logger log = LogManager.getLogger(StreamingApiHandler.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final UpstreamProxy PROXY = UpstreamProxy.initialize();
+
+    @Logging(logEvent = true)
+    @Override
+    public void handleRequest(InputStream input, OutputStream output, Context context) throws IOException {
+        try {
+            JsonNode event = MAPPER.readTree(input);
+            String method = text(event, "httpMethod");
+            String path = text(event, "path");
+
+            ThreadContext.put("requestId", context != null ? context.getAwsRequestId() : "unknown");
+            ThreadContext.put("path", String.valueOf(path));
+            ThreadContext.put("httpMethod", String.valueOf(method));
+            log.info("Received streaming request: path={}, method={}", path, method);
+
+            UpstreamProxy.Outcome outcome = PROXY.handle(method, path,
+                    stringMap(event.get("queryStringParameters")), stringMap(event.get("headers")),
+                    text(event, "body"), event.path("isBase64Encoded").asBoolean(false), context, true);
+
+            if (outcome.isStream()) {
+                stream(outcome.stream(), ContentEncoding.acceptsGzip(header(event, ContentEncoding.ACCEPT_ENCODING)),
+                        output);
+            } else {
+                write(output, outcome);
+            }
+        } finally {
+            ExternalApiClient.flushMetrics();
+            ThreadContext.clearAll();
+        }
+    }
+
+    /**
+     * Once the upstream status is known to be successful the envelope is started, so a failure while copying
+     * the body can only abort the invocation; it can no longer become an error response.
+     * <p>
+     * A gzip-encoded upstream body is passed through still compressed when the client accepts gzip and the
+     * route has no projection, and is inflated while it is copied otherwise. A route's projection filters the
+     * body as it is read.
+     */
+    private void stream(UpstreamRequest upstream, boolean clientAcceptsGzip, OutputStream output)
+            throws IOException {
+        HttpResponse<InputStream> response;
+        try {
+            response = ExternalApiClient.getInstance().openStream(upstream);
+        } catch (ExternalApiException e) {
+            write(output, UpstreamProxy.failure(e));
+            return;
+        }
+
+        try (InputStream body = response.body()) {
+            int statusCode = response.statusCode();
+            if (statusCode < 200 || statusCode >= 300) {
+                log.error("External API error: status={}, body={}", statusCode, new String(
+                        ContentEncoding.decode(response.headers(), body).readNBytes(1024), StandardCharsets.UTF_8));
+                write(output, UpstreamProxy.Outcome.error("External API error: API returned status: " + statusCode, 502));
+                return;
+            }
+
+            String contentType = response.headers().firstValue("Content-Type").orElse("application/json");
+            Map<String, String> headers = new HashMap<>(UpstreamProxy.DEFAULT_HEADERS);
+            headers.put("Content-Type", contentType);
+
+            long startTime = System.nanoTime();
+            JsonProjection projection = upstream.route().projection();
+            boolean passThrough = projection.isIdentity()
+                    && clientAcceptsGzip && ContentEncoding.isGzipEncoded(response.headers());
+            if (passThrough) {
+                headers.put(ContentEncoding.CONTENT_ENCODING, ContentEncoding.GZIP);
+                headers.put("Vary", ContentEncoding.ACCEPT_ENCODING);
+                ProxyResponseWriter.writeBinary(output, statusCode, headers, body);
+            } else if (!projection.isIdentity()) {
+                // Only the projected fields are buffered; the upstream document is filtered as it is read
+                StringWriter projected = new StringWriter();
+                projection.apply(new InputStreamReader(ContentEncoding.decode(response.headers(), body),
+                        ContentEncoding.charsetOf(contentType)), projected);
+                ProxyResponseWriter.write(output, statusCode, headers, projected.toString());
+            } else {
+                ProxyResponseWriter.writeStreaming(output, statusCode, headers,
+                        ContentEncoding.decode(response.headers(), body), ContentEncoding.charsetOf(contentType));
+            }
+            log.info("External API response streamed: status={}, gzip pass-through: {}, copy time: {} ms",
+                    statusCode, passThrough, (System.nanoTime() - startTime) / 1_000_000);
+        } catch (ExternalApiException e) {
+            write(output, UpstreamProxy.failure(e));
+        }
+    }
+
+    private static void write(OutputStream output, UpstreamProxy.Outcome outcome) throws IOException {
+        ProxyResponseWriter.write(output, outcome.statusCode(), UpstreamProxy.DEFAULT_HEADERS, outcome.body());
+    }
+
+    private static String text(JsonNode event, String field) {
+        JsonNode value = event != null ? event.get(field) : null;
+        return value != null && value.isTextual() ? value.asText() : null;
+    }
+
+    /**
+     * Header lookup ignoring case; API Gateway passes header names as the client sent them.
+     */
+    private static String header(JsonNode event, String name) {
+        Iterator<Map.Entry<String, JsonNode>> headers = event.path("headers").fields();
+        while (headers.hasNext()) {
+            Map.Entry<String, JsonNode> header = headers.next();
+            if (header.getKey().equalsIgnoreCase(name) && header.getValue().isTextual()) {
+                return header.getValue().asText();
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> stringMap(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return null;
+        }
+        Map<String, String> values = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().isNull()) {
+                values.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        return values;
+    }
+}
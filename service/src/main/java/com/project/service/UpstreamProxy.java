@@ -0,0 +1,155 @@
+package com.project.service;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.service.batch.BatchExecutor;
+import com.project.service.client.ConnectionWarmer;
+import com.project.service.client.ExternalApiClient;
+import com.project.service.exception.DeadlineExceededException;
+import com.project.service.exception.ExternalApiException;
+import com.project.service.routing.RouteMatch;
+import com.project.service.routing.RouteTable;
+import com.project.service.routing.UpstreamRequest;
+import com.project.service.util.Deadline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * The request path shared by {@link ApiHandler} and {@link StreamingApiHandler}: invocation deadline, batch
+ * requests, route matching, the upstream call and projection, and the mapping of failures to status codes.
+ * The handlers only translate their event and response types.
+ * <p>
+ * A {@code "stream": true} route is handed back as {@link Outcome#stream()} when the caller can pipe the
+ * upstream body; otherwise it is served like any other route.
+ */
+final class UpstreamProxy {
+
+    private static final Logger log = LogManager.getLogger(UpstreamProxy.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Reusable unmodifiable headers map to avoid per-request allocations
+    static final Map<String, String> DEFAULT_HEADERS = Map.of(
+            "Content-Type", "application/json",
+            "Access-Control-Allow-Origin", "*");
+
+    private final RouteTable routes;
+    private final BatchExecutor batch;
+
+    private UpstreamProxy(RouteTable routes) {
+        this.routes = routes;
+        this.batch = BatchExecutor.fromEnvironment(routes,
+                upstream -> ExternalApiClient.getInstance().callAsync(upstream));
+    }
+
+    /**
+     * Loads the route table and warms the upstream connections; meant for static initialization, so both
+     * happen in the init phase rather than on the first request.
+     */
+    static UpstreamProxy initialize() {
+        RouteTable routes = RouteTable.load();
+        ConnectionWarmer.warmUp(routes);
+        return new UpstreamProxy(routes);
+    }
+
+    /**
+     * @param canStream whether the caller pipes {@code "stream": true} routes itself
+     */
+    Outcome handle(String method, String path, Map<String, String> queryParameters, Map<String, String> headers,
+                   String body, boolean base64Encoded, Context context, boolean canStream) {
+        Deadline deadline = Deadline.fromContext(context);
+        if (deadline.isExpired()) {
+            log.warn("No time left for the upstream call: {}", deadline);
+            return Outcome.error("Gateway timeout", 504);
+        }
+
+        if (BatchExecutor.isBatchRequest(method, path)) {
+            return batch(body, base64Encoded, queryParameters, headers, deadline);
+        }
+
+        RouteMatch match = routes.match(method, path);
+        if (match == null) {
+            log.warn("No upstream route for {} {}", method, path);
+            return Outcome.error("No route for " + method + " " + path, 404);
+        }
+        ThreadContext.put("route", match.route().name());
+
+        try {
+            UpstreamRequest upstream = match.toUpstreamRequest(queryParameters, headers, deadline);
+            if (canStream && match.route().stream()) {
+                return Outcome.stream(upstream);
+            }
+            return Outcome.ok(match.route().projection().apply(ExternalApiClient.getInstance().call(upstream)));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot build upstream request for route {}: {}", match.route().name(), e.getMessage());
+            return Outcome.error(e.getMessage(), 400);
+
+        } catch (ExternalApiException e) {
+            return failure(e);
+
+        } catch (Exception e) {
+            log.error("Unexpected error processing request", e);
+            return Outcome.error("Internal server error", 500);
+        }
+    }
+
+    /**
+     * Maps an upstream failure to {@code 504} when the deadline ran out and {@code 502} otherwise.
+     */
+    static Outcome failure(ExternalApiException e) {
+        if (e instanceof DeadlineExceededException) {
+            log.warn("Upstream call abandoned: {}", e.getMessage());
+            return Outcome.error("Gateway timeout: " + e.getMessage(), 504);
+        }
+        log.error("External API error: {}", e.getMessage(), e);
+        return Outcome.error("External API error: " + e.getMessage(), 502);
+    }
+
+    private Outcome batch(String body, boolean base64Encoded, Map<String, String> queryParameters,
+                          Map<String, String> headers, Deadline deadline) {
+        if (body != null && base64Encoded) {
+            body = new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8);
+        }
+
+        try {
+            return Outcome.ok(batch.executeToJson(body, queryParameters, headers, deadline));
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid batch request: {}", e.getMessage());
+            return Outcome.error(e.getMessage(), 400);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Batch interrupted", e);
+            return Outcome.error("Internal server error", 500);
+        }
+    }
+
+    /**
+     * A complete response, or the upstream request of a stream route for the caller to pipe.
+     */
+    record Outcome(int statusCode, String body, UpstreamRequest stream) {
+
+        static Outcome ok(String body) {
+            return new Outcome(200, body, null);
+        }
+
+        static Outcome error(String message, int statusCode) {
+            return new Outcome(statusCode, MAPPER.createObjectNode().put("error", message).toString(), null);
+        }
+
+        static Outcome stream(UpstreamRequest upstream) {
+            return new Outcome(200, null, upstream);
+        }
+
+        boolean isStream() {
+            return stream != null;
+        }
+    }
+}
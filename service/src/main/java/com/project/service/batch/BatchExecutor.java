@@ -0,0 +1,256 @@
+package com.project.service.batch;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.service.exception.DeadlineExceededException;
+import com.project.service.exception.ExternalApiException;
+import com.project.service.routing.Route;
+import com.project.service.routing.RouteMatch;
+import com.project.service.routing.RouteTable;
+import com.project.service.routing.UpstreamRequest;
+import com.project.service.util.Deadline;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * Fans a {@code POST /batch} request out to one routed upstream call per id and aggregates the results.
+ * <p>
+ * The body names a route and the ids to substitute into its single upstream placeholder:
+ * <pre>{"route": "repairOrder", "ids": ["73859", "73860"]}</pre>
+ * Calls go through the same asynchronous path as single requests (response cache, coalescing,
+ * {@code sendAsync}), with at most {@code BATCH_MAX_CONCURRENCY} (default 8) in flight, so a batch takes
+ * about as long as its slowest call when the ids fit in one wave. At most {@code BATCH_MAX_ITEMS} (default 50)
+ * ids are accepted. The response is a JSON array in request order with a status per item.
+ */
+public final class BatchExecutor {
+
+    private static final Logger log = LogManager.getLogger(BatchExecutor.class);
+
+    public static final String PATH = "/batch";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private final RouteTable routes;
+    private final Function<UpstreamRequest, CompletableFuture<String>> upstream;
+    private final int maxItems;
+    private final int maxConcurrency;
+
+    public BatchExecutor(RouteTable routes, Function<UpstreamRequest, CompletableFuture<String>> upstream,
+                         int maxItems, int maxConcurrency) {
+        this.routes = routes;
+        this.upstream = upstream;
+        this.maxItems = maxItems;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    public static BatchExecutor fromEnvironment(RouteTable routes,
+                                                Function<UpstreamRequest, CompletableFuture<String>> upstream) {
+        return new BatchExecutor(routes, upstream,
+                getIntEnv("BATCH_MAX_ITEMS", 50),
+                getIntEnv("BATCH_MAX_CONCURRENCY", 8));
+    }
+
+    public static boolean isBatchRequest(String method, String path) {
+        return "POST".equalsIgnoreCase(method) && path != null
+                && (path.equals(PATH) || path.equals(PATH + "/"));
+    }
+
+    /**
+     * Runs the batch. Failures of individual items are reported in their result; only an invalid batch throws.
+     * Items that cannot complete before the deadline fail with status 504.
+     *
+     * @throws IllegalArgumentException if the body is not a valid batch for a known route
+     */
+    public List<BatchResult> execute(String body, Map<String, String> queryParameters,
+                                     Map<String, String> requestHeaders, Deadline deadline)
+            throws InterruptedException {
+        JsonNode request = parse(body);
+        Route route = routes.route(request.path("route").asText(null));
+        if (route == null) {
+            throw new IllegalArgumentException("Unknown route: " + request.path("route").asText(null));
+        }
+        if (route.upstream().variables().size() != 1) {
+            throw new IllegalArgumentException("Route " + route.name() + " must have exactly one placeholder to batch");
+        }
+
+        JsonNode ids = request.path("ids");
+        if (!ids.isArray() || ids.isEmpty()) {
+            throw new IllegalArgumentException("'ids' must be a non-empty array");
+        }
+        if (ids.size() > maxItems) {
+            throw new IllegalArgumentException("At most " + maxItems + " ids per batch, got " + ids.size());
+        }
+
+        String parameter = route.upstream().variables().get(0);
+        long startTime = System.nanoTime();
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<BatchResult>> calls = new ArrayList<>(ids.size());
+        for (JsonNode idNode : ids) {
+            String id = idNode.asText();
+            permits.acquire();
+            calls.add(call(route, parameter, id, queryParameters, requestHeaders, deadline)
+                    .whenComplete((result, error) -> permits.release()));
+        }
+
+        List<BatchResult> results = new ArrayList<>(calls.size());
+        for (CompletableFuture<BatchResult> call : calls) {
+            results.add(call.join());
+        }
+
+        log.info("Batch of {} {} calls completed in {} ms (max concurrency: {})",
+                results.size(), route.name(), (System.nanoTime() - startTime) / 1_000_000, maxConcurrency);
+        return results;
+    }
+
+    /**
+     * Runs the batch and returns the aggregated JSON array.
+     *
+     * @throws IllegalArgumentException if the body is not a valid batch for a known route
+     */
+    public String executeToJson(String body, Map<String, String> queryParameters,
+                                Map<String, String> requestHeaders, Deadline deadline)
+            throws InterruptedException {
+        List<BatchResult> results = execute(body, queryParameters, requestHeaders, deadline);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 * results.size());
+        try {
+            write(results, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the results as a JSON array. Upstream bodies that are JSON are embedded as values, anything else
+     * as a string.
+     */
+    public static void write(List<BatchResult> results, OutputStream out) throws IOException {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            for (BatchResult result : results) {
+                generator.writeStartObject();
+                generator.writeStringField("id", result.id());
+                generator.writeNumberField("status", result.status());
+                if (result.error() != null) {
+                    generator.writeStringField("error", result.error());
+                } else {
+                    generator.writeFieldName("body");
+                    writeBody(generator, result.body());
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private CompletableFuture<BatchResult> call(Route route, String parameter, String id,
+                                                Map<String, String> queryParameters,
+                                                Map<String, String> requestHeaders, Deadline deadline) {
+        CompletableFuture<String> call;
+        try {
+            UpstreamRequest request = new RouteMatch(route, Map.of(parameter, id))
+                    .toUpstreamRequest(queryParameters, requestHeaders, deadline);
+            call = upstream.apply(request).thenApply(route.projection()::apply);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        return call.handle((body, error) -> {
+            if (error == null) {
+                return BatchResult.success(id, body);
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof DeadlineExceededException) {
+                return BatchResult.failure(id, 504, cause.getMessage());
+            }
+            if (cause instanceof ExternalApiException) {
+                log.warn("Batch item {} of route {} failed: {}", id, route.name(), cause.getMessage());
+                return BatchResult.failure(id, 502, "External API error: " + cause.getMessage());
+            }
+            if (cause instanceof IllegalArgumentException) {
+                return BatchResult.failure(id, 400, cause.getMessage());
+            }
+            log.error("Unexpected error in batch item {} of route {}", id, route.name(), cause);
+            return BatchResult.failure(id, 500, "Internal server error");
+        });
+    }
+
+    private static JsonNode parse(String body) {
+        if (body == null || body.isBlank()) {
+            throw new IllegalArgumentException("Batch request body is required");
+        }
+        try {
+            JsonNode request = MAPPER.readTree(body);
+            if (request == null || !request.isObject()) {
+                throw new IllegalArgumentException("Batch request must be a JSON object");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid batch request JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Copies a JSON body into the response token by token, without building a tree. The body is checked with a
+     * first streaming pass, since a copy that fails half-way cannot be taken back; anything that is not a single
+     * JSON value is embedded as a string.
+     */
+    private static void writeBody(JsonGenerator generator, String body) throws IOException {
+        if (body == null) {
+            generator.writeNull();
+            return;
+        }
+        if (!isSingleJsonValue(body)) {
+            generator.writeString(body);
+            return;
+        }
+
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    private static boolean isSingleJsonValue(String body) {
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int getIntEnv(String name, int defaultValue) {
+        try {
+            return Integer.parseInt(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+}
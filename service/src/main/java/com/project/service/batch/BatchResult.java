@@ -0,0 +1,15 @@
+package com.project.service.batch;
+
+/**
+ * Outcome of one item of a batch: the upstream body on success, an error message otherwise.
+ */
+public record BatchResult(String id, int status, String body, String error) {
+
+    public static BatchResult success(String id, String body) {
+        return new BatchResult(id, 200, body, null);
+    }
+
+    public static BatchResult failure(String id, int status, String error) {
+        return new BatchResult(id, status, null, error);
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.service.cache;
+
+import java.util.Locale;
+
+/**
+ * The {@code Cache-Control} response directives the upstream cache acts on. Unknown directives are ignored.
+ *
+ * @param maxAgeSeconds                {@code max-age}, or {@code -1} when absent
+ * @param staleWhileRevalidateSeconds  {@code stale-while-revalidate}, or {@code 0} when absent
+ */
+public record CacheControl(long maxAgeSeconds,
+                           long staleWhileRevalidateSeconds,
+                           boolean noStore,
+                           boolean noCache,
+                           boolean mustRevalidate) {
+
+    public static final CacheControl NONE = new CacheControl(-1, 0, false, false, false);
+
+    public static CacheControl parse(String header) {
+        if (header == null || header.isBlank()) {
+            return NONE;
+        }
+
+        long maxAge = -1;
+        long staleWhileRevalidate = 0;
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean mustRevalidate = false;
+
+        for (String part : header.split(",")) {
+            String directive = part.trim().toLowerCase(Locale.ROOT);
+            String value = null;
+
+            int equals = directive.indexOf('=');
+            if (equals >= 0) {
+                value = directive.substring(equals + 1).trim();
+                directive = directive.substring(0, equals).trim();
+            }
+
+            switch (directive) {
+                case "max-age" -> maxAge = parseSeconds(value, maxAge);
+                case "stale-while-revalidate" -> staleWhileRevalidate = Math.max(0, parseSeconds(value, 0));
+                case "no-store" -> noStore = true;
+                case "no-cache" -> noCache = true;
+                case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                default -> {
+                    // private, public, s-maxage etc. do not change how this single-tenant cache behaves
+                }
+            }
+        }
+
+        return new CacheControl(maxAge, staleWhileRevalidate, noStore, noCache, mustRevalidate);
+    }
+
+    private static long parseSeconds(String value, long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.service.cache;
+
+import java.time.Instant;
+
+/**
+ * An upstream response body with its validators and freshness window.
+ * <p>
+ * The entry is served without contacting upstream until {@code freshUntil}, served while a background
+ * revalidation runs until {@code staleUntil}, and revalidated with a conditional request after that.
+ */
+public record CachedResponse(String body,
+                             String etag,
+                             String lastModified,
+                             Instant storedAt,
+                             Instant freshUntil,
+                             Instant staleUntil) {
+
+    public boolean isFreshAt(Instant now) {
+        return now.isBefore(freshUntil);
+    }
+
+    public boolean isServableStaleAt(Instant now) {
+        return !isFreshAt(now) && now.isBefore(staleUntil);
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedResponse[bytes=" + (body != null ? body.length() : 0) + ", etag=" + etag
+                + ", lastModified=" + lastModified + ", freshUntil=" + freshUntil + ", staleUntil=" + staleUntil + "]";
+    }
+}
@@ -0,0 +1,242 @@
+package com.project.service.cache;
+
+import com.project.token.cache.BoundedCache;
+import com.project.token.cache.CacheStats;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of upstream GET responses that follows the upstream's {@code Cache-Control}, {@code Expires},
+ * {@code ETag} and {@code Last-Modified} headers.
+ * <p>
+ * Responses are stored when they are fresh for some time or carry a validator, so an expired entry can be
+ * revalidated with {@code If-None-Match} / {@code If-Modified-Since} and a {@code 304} costs no body transfer.
+ * {@code no-store} responses are never stored. Without freshness information a response is fresh for
+ * {@code EXTERNAL_API_CACHE_DEFAULT_TTL_SECONDS} (default 0). At most {@code EXTERNAL_API_CACHE_MAX_ENTRIES}
+ * (default 128) responses are kept.
+ * <p>
+ * Routes may call the upstream with different credentials, so every key carries the credential scope (the
+ * resolved token secret) and a response is only served to requests made with the same credentials. Every
+ * header a route forwards is part of the key too, since a forwarded tenant or user header can change the
+ * response. Within a scope the cache behaves as a private cache: {@code private} and {@code s-maxage} are
+ * ignored. The {@code Authorization} header itself is not part of the key, since the token changes on every
+ * refresh.
+ */
+public final class ResponseCache {
+
+    private static final Logger log = LogManager.getLogger(ResponseCache.class);
+
+    // Request headers that select a different upstream representation
+    private static final List<String> KEY_HEADERS = List.of("accept", "accept-language", "x-dealer-code");
+
+    private final BoundedCache<String, CachedResponse> entries;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final long defaultTtlSeconds;
+    private final Clock clock;
+
+    public ResponseCache(int maxEntries, long defaultTtlSeconds, Clock clock) {
+        this.entries = new BoundedCache<>("upstream responses", maxEntries);
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.clock = clock;
+    }
+
+    public static ResponseCache fromEnvironment() {
+        return new ResponseCache(
+                (int) getLongEnv("EXTERNAL_API_CACHE_MAX_ENTRIES", 128),
+                getLongEnv("EXTERNAL_API_CACHE_DEFAULT_TTL_SECONDS", 0),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Cache key for a request: method, URI, the headers in {@link #KEY_HEADERS} and in {@code forwardHeaders},
+     * and the credential scope.
+     *
+     * @param forwardHeaders the request headers the route copies upstream
+     * @param scope          the resolved token secret the request is sent with
+     */
+    public static String keyFor(HttpRequest request, List<String> forwardHeaders, String scope) {
+        StringBuilder key = new StringBuilder(request.method()).append(' ').append(request.uri());
+        for (String header : KEY_HEADERS) {
+            appendHeader(key, request, header);
+        }
+        for (String header : forwardHeaders) {
+            String name = header.toLowerCase();
+            if (!KEY_HEADERS.contains(name)) {
+                appendHeader(key, request, name);
+            }
+        }
+        return key.append("|scope=").append(scope).toString();
+    }
+
+    private static void appendHeader(StringBuilder key, HttpRequest request, String header) {
+        request.headers().firstValue(header).ifPresent(value -> key.append('|').append(header).append('=').append(value));
+    }
+
+    public CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public Instant now() {
+        return clock.instant();
+    }
+
+    /**
+     * Adds the validators of a previous response, if any, so upstream can answer {@code 304 Not Modified}.
+     */
+    public HttpRequest.Builder withConditionalHeaders(HttpRequest.Builder request, CachedResponse previous) {
+        if (previous != null) {
+            if (previous.etag() != null) {
+                request.header("If-None-Match", previous.etag());
+            }
+            if (previous.lastModified() != null) {
+                request.header("If-Modified-Since", previous.lastModified());
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Stores a successful response if its headers allow it. Returns the stored entry, or {@code null}.
+     */
+    public CachedResponse store(String key, HttpResponse<String> response) {
+        return store(key, response, null);
+    }
+
+    /**
+     * As {@link #store(String, HttpResponse)}, with a per-route freshness for responses that carry no
+     * {@code Cache-Control} or {@code Expires}; {@code null} uses the cache-wide default.
+     */
+    public CachedResponse store(String key, HttpResponse<String> response, Long fallbackTtlSeconds) {
+        HttpHeaders headers = response.headers();
+        CacheControl cacheControl = CacheControl.parse(headers.firstValue("Cache-Control").orElse(null));
+
+        if (cacheControl.noStore()) {
+            entries.remove(key);
+            return null;
+        }
+
+        Instant now = clock.instant();
+        String etag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        long freshSeconds = freshnessSeconds(cacheControl, headers, fallbackTtlSeconds);
+
+        if (freshSeconds <= 0 && etag == null && lastModified == null) {
+            entries.remove(key);
+            return null;
+        }
+
+        CachedResponse entry = entry(response.body(), etag, lastModified, now, freshSeconds, cacheControl);
+        entries.put(key, entry);
+        log.debug("Cached upstream response for {}: {}", key, entry);
+        return entry;
+    }
+
+    /**
+     * Refreshes an entry after upstream answered {@code 304 Not Modified}; the stored body is kept.
+     */
+    public CachedResponse revalidated(String key, CachedResponse previous, HttpResponse<?> notModified) {
+        return revalidated(key, previous, notModified, null);
+    }
+
+    public CachedResponse revalidated(String key, CachedResponse previous, HttpResponse<?> notModified,
+                                      Long fallbackTtlSeconds) {
+        HttpHeaders headers = notModified.headers();
+        CacheControl cacheControl = CacheControl.parse(headers.firstValue("Cache-Control").orElse(null));
+
+        CachedResponse entry = entry(previous.body(),
+                headers.firstValue("ETag").orElse(previous.etag()),
+                headers.firstValue("Last-Modified").orElse(previous.lastModified()),
+                clock.instant(), freshnessSeconds(cacheControl, headers, fallbackTtlSeconds), cacheControl);
+        entries.put(key, entry);
+        log.debug("Upstream response for {} not modified, fresh until {}", key, entry.freshUntil());
+        return entry;
+    }
+
+    /**
+     * Returns {@code true} for the one caller that should revalidate a stale entry; others keep serving it.
+     */
+    public boolean tryStartRevalidation(String key) {
+        return revalidating.add(key);
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    public void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public CacheStats stats() {
+        return entries.stats();
+    }
+
+    private static CachedResponse entry(String body, String etag, String lastModified, Instant now,
+                                        long freshSeconds, CacheControl cacheControl) {
+        Instant freshUntil = now.plusSeconds(Math.max(0, freshSeconds));
+        Instant staleUntil = cacheControl.mustRevalidate() || cacheControl.noCache()
+                ? freshUntil
+                : freshUntil.plusSeconds(cacheControl.staleWhileRevalidateSeconds());
+        return new CachedResponse(body, etag, lastModified, now, freshUntil, staleUntil);
+    }
+
+    private long freshnessSeconds(CacheControl cacheControl, HttpHeaders headers, Long fallbackTtlSeconds) {
+        if (cacheControl.noCache()) {
+            return 0;
+        }
+
+        long age = headers.firstValue("Age").map(ResponseCache::parseLong).orElse(0L);
+
+        if (cacheControl.maxAgeSeconds() >= 0) {
+            return cacheControl.maxAgeSeconds() - age;
+        }
+
+        String expires = headers.firstValue("Expires").orElse(null);
+        if (expires != null) {
+            Instant expiresAt = parseHttpDate(expires);
+            Instant date = headers.firstValue("Date").map(ResponseCache::parseHttpDate).orElse(null);
+            // An unparseable Expires, such as "0", means already expired
+            if (expiresAt == null) {
+                return 0;
+            }
+            return expiresAt.getEpochSecond() - (date != null ? date : clock.instant()).getEpochSecond();
+        }
+
+        return fallbackTtlSeconds != null ? fallbackTtlSeconds : defaultTtlSeconds;
+    }
+
+    private static Instant parseHttpDate(String value) {
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Math.max(0, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static long getLongEnv(String name, long defaultValue) {
+        try {
+            return Long.parseLong(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.project.service.client;
+
+import com.project.service.routing.Route;
+import com.project.service.routing.RouteTable;
+import com.project.token.http.SharedHttpTransport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+
+/**
+ * Moves connection set-up and token acquisition out of the first request of an execution environment.
+ * <p>
+ * {@link #warmUp} runs during the init phase. It creates {@link ExternalApiClient}, fetches the bearer token for
+ * every token secret the routes use, which also opens the connection to the token host, and sends a
+ * {@code HEAD} to every upstream origin, so DNS, TCP and TLS are done and the connection is pooled. Responses
+ * are ignored; any status means the connection is up.
+ * <p>
+ * With SnapStart, {@link #warmUp} also registers a CRaC {@link Resource} so the snapshot work happens outside
+ * of any request. Before the checkpoint it replaces the HTTP client, so no pooled socket is captured in the
+ * snapshot. After the restore, still in the restore phase, it probes the origins again and replaces every token
+ * captured in the snapshot with a new one, since the same token would otherwise be shared by every environment
+ * restored from that snapshot.
+ * <p>
+ * Warm-up and restore wait at most {@code CONNECTION_WARMUP_TIMEOUT_MILLIS} (default 3000). Warm-up only runs
+ * inside Lambda and can be turned off with {@code CONNECTION_WARMUP_ENABLED=false}. Failures are logged and never
+ * fail initialization or the restore; the request path sets up whatever is missing.
+ */
+public final class ConnectionWarmer {
+
+    private static final Logger log = LogManager.getLogger(ConnectionWarmer.class);
+
+    private static final long TIMEOUT_MILLIS = getLongEnv("CONNECTION_WARMUP_TIMEOUT_MILLIS", 3000);
+    private static final boolean ENABLED = !"false".equalsIgnoreCase(System.getenv("CONNECTION_WARMUP_ENABLED"))
+            && System.getenv("AWS_LAMBDA_FUNCTION_NAME") != null;
+    private static final boolean SNAP_START = "snap-start".equals(System.getenv("AWS_LAMBDA_INITIALIZATION_TYPE"));
+
+    // Strongly referenced here: CRaC contexts may only hold their resources weakly
+    private static volatile Resource restoreHook;
+
+    private ConnectionWarmer() {
+    }
+
+    /**
+     * Warms the client, tokens and upstream connections for the routes and, with SnapStart, registers the
+     * checkpoint and restore hook; meant for static initialization.
+     *
+     * @return whether warm-up ran
+     */
+    public static boolean warmUp(RouteTable routes) {
+        if (!ENABLED) {
+            return false;
+        }
+
+        run("Warm-up", routes, ExternalApiClient::prefetchToken);
+        if (SNAP_START) {
+            registerRestoreHook(routes);
+        }
+        return true;
+    }
+
+    /**
+     * Token secrets the routes use; {@code null} stands for the default {@code TOKEN_SECRET_NAME}.
+     */
+    static Set<String> tokenSecrets(RouteTable routes) {
+        Set<String> secrets = new LinkedHashSet<>();
+        for (Route route : routes.routes()) {
+            secrets.add(route.tokenSecret());
+        }
+        return secrets;
+    }
+
+    /**
+     * Scheme, host and port of every upstream; the part of the template before its first placeholder must
+     * name the host.
+     */
+    static Set<URI> upstreamOrigins(RouteTable routes) {
+        Set<URI> origins = new LinkedHashSet<>();
+        for (Route route : routes.routes()) {
+            String template = route.upstream().toString();
+            int placeholder = template.indexOf('{');
+            try {
+                URI uri = URI.create(placeholder >= 0 ? template.substring(0, placeholder) : template);
+                if (uri.getScheme() != null && uri.getRawAuthority() != null) {
+                    origins.add(URI.create(uri.getScheme() + "://" + uri.getRawAuthority() + "/"));
+                }
+            } catch (IllegalArgumentException e) {
+                log.debug("No fixed origin for route {}: {}", route.name(), template);
+            }
+        }
+        return origins;
+    }
+
+    private static synchronized void registerRestoreHook(RouteTable routes) {
+        if (restoreHook == null) {
+            restoreHook = new RestoreHook(SharedHttpTransport::renew,
+                    () -> run("Restore", routes, ExternalApiClient::refreshToken));
+            Core.getGlobalContext().register(restoreHook);
+            log.info("Registered SnapStart restore hook");
+        }
+    }
+
+    private static void run(String phase, RouteTable routes,
+                            BiFunction<ExternalApiClient, String, CompletableFuture<String>> token) {
+        long startTime = System.nanoTime();
+        List<CompletableFuture<?>> steps = new ArrayList<>();
+
+        try {
+            ExternalApiClient client = ExternalApiClient.getInstance();
+            for (String secret : tokenSecrets(routes)) {
+                steps.add(token.apply(client, secret)
+                        .handle(logged(phase, "token for " + (secret != null ? secret : "default secret"))));
+            }
+            for (URI origin : upstreamOrigins(routes)) {
+                steps.add(probe(origin).handle(logged(phase, "connection to " + origin)));
+            }
+
+            CompletableFuture.allOf(steps.toArray(CompletableFuture[]::new))
+                    .get(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            log.info("{} completed in {} ms ({} steps)",
+                    phase, (System.nanoTime() - startTime) / 1_000_000, steps.size());
+        } catch (TimeoutException e) {
+            log.warn("{} did not finish within {} ms; continuing", phase, TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("{} interrupted", phase);
+        } catch (Exception e) {
+            log.warn("{} failed: {}", phase, e.getMessage());
+        }
+    }
+
+    private static CompletableFuture<HttpResponse<Void>> probe(URI origin) {
+        return SharedHttpTransport.sendAsync(HttpRequest.newBuilder(origin)
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                        .timeout(Duration.ofMillis(TIMEOUT_MILLIS))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static <T> BiFunction<T, Throwable, Void> logged(String phase, String what) {
+        return (result, error) -> {
+            if (error != null) {
+                log.warn("{}: {} failed: {}", phase, what, error.getMessage());
+            } else {
+                log.debug("{}: {} ready", phase, what);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Drops the pooled connections before the checkpoint; after the restore, re-opens them and replaces the
+     * tokens. Both run in the snapshot phases, so neither costs an invocation.
+     */
+    static final class RestoreHook implements Resource {
+
+        private final Runnable beforeCheckpoint;
+        private final Runnable afterRestore;
+
+        RestoreHook(Runnable beforeCheckpoint, Runnable afterRestore) {
+            this.beforeCheckpoint = beforeCheckpoint;
+            this.afterRestore = afterRestore;
+        }
+
+        @Override
+        public void beforeCheckpoint(Context<? extends Resource> context) {
+            try {
+                beforeCheckpoint.run();
+            } catch (RuntimeException e) {
+                log.warn("Preparing connections for the snapshot failed: {}", e.getMessage());
+            }
+        }
+
+        @Override
+        public void afterRestore(Context<? extends Resource> context) {
+            try {
+                afterRestore.run();
+            } catch (RuntimeException e) {
+                log.warn("Re-opening connections after restore failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static long getLongEnv(String name, long defaultValue) {
+        try {
+            return Long.parseLong(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.service.client;
+
+import com.project.service.exception.ExternalApiException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * gzip negotiation with the upstream API.
+ * <p>
+ * Upstream requests advertise {@code Accept-Encoding: gzip}. Compressed bodies are inflated while they are read
+ * through {@link GZIPInputStream}, so only the compressed bytes are buffered and the decompressed text is decoded
+ * straight into the result. Any other coding is rejected: it was not offered, so it cannot be decoded.
+ */
+public final class ContentEncoding {
+
+    public static final String ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String GZIP = "gzip";
+
+    private ContentEncoding() {
+    }
+
+    /**
+     * A body handler like {@code BodyHandlers.ofString()} that also undoes a gzip {@code Content-Encoding}.
+     */
+    public static HttpResponse.BodyHandler<String> decodedString() {
+        return info -> HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                bytes -> decodeString(info.headers(), bytes));
+    }
+
+    /**
+     * Wraps the body in a decompressing stream when the response is gzip-encoded.
+     *
+     * @throws ExternalApiException if the response uses a coding other than gzip or identity
+     */
+    public static InputStream decode(HttpHeaders headers, InputStream body) throws IOException {
+        String coding = codingOf(headers);
+        if (coding == null) {
+            return body;
+        }
+        if (isGzip(coding)) {
+            return new GZIPInputStream(body);
+        }
+        throw new ExternalApiException("Unsupported upstream Content-Encoding: " + coding);
+    }
+
+    public static boolean isGzipEncoded(HttpHeaders headers) {
+        String coding = codingOf(headers);
+        return coding != null && isGzip(coding);
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} value admits gzip, explicitly or through {@code *}, with a non-zero
+     * q-value.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+
+        double gzipQ = -1;
+        double wildcardQ = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String coding = part;
+            double q = 1.0;
+
+            int semicolon = part.indexOf(';');
+            if (semicolon >= 0) {
+                coding = part.substring(0, semicolon);
+                q = parseQuality(part.substring(semicolon + 1));
+            }
+
+            coding = coding.trim().toLowerCase();
+            if (isGzip(coding)) {
+                gzipQ = Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = q;
+            }
+        }
+        return (gzipQ >= 0 ? gzipQ : wildcardQ) > 0;
+    }
+
+    /**
+     * The charset named by a {@code Content-Type} value, UTF-8 when absent or unknown.
+     */
+    public static Charset charsetOf(String contentType) {
+        if (contentType == null) {
+            return StandardCharsets.UTF_8;
+        }
+        int index = contentType.toLowerCase().indexOf("charset=");
+        if (index >= 0) {
+            String name = contentType.substring(index + 8).split(";")[0].trim().replace("\"", "");
+            try {
+                return Charset.forName(name);
+            } catch (Exception e) {
+                // Fall through to the JSON default
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static String decodeString(HttpHeaders headers, byte[] bytes) {
+        Charset charset = charsetOf(headers.firstValue("Content-Type").orElse(null));
+        if (bytes.length == 0) {
+            return "";
+        }
+        try (InputStream body = decode(headers, new ByteArrayInputStream(bytes))) {
+            return new String(body.readAllBytes(), charset);
+        } catch (IOException e) {
+            throw new ExternalApiException("Malformed compressed response body", e);
+        }
+    }
+
+    private static String codingOf(HttpHeaders headers) {
+        String coding = headers.firstValue(CONTENT_ENCODING).map(value -> value.trim().toLowerCase()).orElse("");
+        return coding.isEmpty() || coding.equals("identity") ? null : coding;
+    }
+
+    private static boolean isGzip(String coding) {
+        return coding.equals(GZIP) || coding.equals("x-gzip");
+    }
+
+    private static double parseQuality(String params) {
+        String trimmed = params.trim();
+        if (!trimmed.startsWith("q=")) {
+            return 1.0;
+        }
+        try {
+            return Double.parseDouble(trimmed.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+}
@@ -1,31 +1,60 @@
 package com.project.service.client;
 
+import com.project.service.cache.CachedResponse;
+import com.project.service.cache.ResponseCache;
+import com.project.service.exception.DeadlineExceededException;
 import com.project.service.exception.ExternalApiException;
-import com.project.service.util.HttpClientFactory;
-import com.project.service.util.Utils;
+import com.project.service.routing.Route;
+import com.project.service.routing.UpstreamRequest;
+import com.project.token.cache.CacheStats;
+import com.project.token.http.SharedHttpTransport;
 import com.project.token.provider.SSMApigeeProvider;
+import com.project.token.util.SingleFlight;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
-import java.net.URI;
+import java.io.InputStream;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class ExternalApiClient {
 
-    public static final String EXTERNAL_API_URL = Utils.getRequiredEnv("EXTERNAL_API_URL");
     private static final Logger log = LogManager.getLogger(ExternalApiClient.class);
+
     private static volatile ExternalApiClient instance;
     private static volatile SSMApigeeProvider tokenProvider;
 
+    private final Function<String, CompletableFuture<String>> tokens;
+    private final Consumer<String> invalidateToken;
+    private final ResponseCache responseCache;
+    private final SingleFlight<String, String> upstreamCalls = new SingleFlight<>();
+
+    /**
+     * @param tokens          bearer token for a token secret ({@code null} for the default), as
+     *                        {@link SSMApigeeProvider#getTokenAsync}
+     * @param invalidateToken drops the cached token for a token secret, as {@link SSMApigeeProvider#invalidate}
+     */
+    ExternalApiClient(Function<String, CompletableFuture<String>> tokens, Consumer<String> invalidateToken,
+                      ResponseCache responseCache) {
+        this.tokens = tokens;
+        this.invalidateToken = invalidateToken;
+        this.responseCache = responseCache;
+    }
+
     public static ExternalApiClient getInstance() {
         if (instance == null) {
             synchronized (ExternalApiClient.class) {
                 if (instance == null) {
-                    instance = new ExternalApiClient();
                     tokenProvider = SSMApigeeProvider.get();
+                    instance = new ExternalApiClient(tokenProvider::getTokenAsync, tokenProvider::invalidate,
+                            ResponseCache.fromEnvironment());
                     log.info("ExternalApiClient initialized with SSMApigeeProvider (with bearer token caching)");
                 }
             }
@@ -33,51 +62,212 @@ public class ExternalApiClient {
         return instance;
     }
 
-    public String callExternalApi() {
-        log.info("Initiating external API call to: {}", EXTERNAL_API_URL);
+    public String call(UpstreamRequest upstream) {
+        return await(callAsync(upstream));
+    }
 
-        try {
-            String accessToken = tokenProvider.getToken(null);
-            log.debug("Retrieved access token from provider, length: {} characters", accessToken.length());
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(EXTERNAL_API_URL))
-                    .timeout(Duration.ofSeconds(30))
-                    .header("Authorization", "Bearer " + accessToken)
-                    .header("x-dealer-code", "Z3DT01")
-                    .header("x-bod-id", "17b1c782-1a09-4588-ac37-9d4534e5f977")
-                    .header("Content-Type", "application/json")
-                    .GET()
-                    .build();
-
-            log.debug("Executing HTTP GET request to external API");
-
-            HttpResponse<String> response = HttpClientFactory.getClient().send(
-                    request,
-                    HttpResponse.BodyHandlers.ofString()
-            );
+    /**
+     * Sends the request and returns as soon as the response headers arrive, leaving the body unread. The caller
+     * must close the body stream. The response cache and request coalescing are bypassed: a stream can only be
+     * read once.
+     * <p>
+     * gzip is offered to the upstream and the body is returned as received, possibly still compressed; see
+     * {@link ContentEncoding#decode}. The wait for the response headers is bounded by the request's deadline.
+     */
+    public HttpResponse<InputStream> openStream(UpstreamRequest upstream) {
+        Route route = upstream.route();
+        log.info("Opening streaming external API call for route {}: {}", route.name(), upstream.request().uri());
+
+        upstream.deadline().check();
+
+        CompletableFuture<HttpResponse<InputStream>> exchange = tokens.apply(route.tokenSecret())
+                .thenCompose(token -> SharedHttpTransport.sendAsync(
+                        HttpRequest.newBuilder(upstream.request(), (name, value) -> true)
+                                .setHeader(ContentEncoding.ACCEPT_ENCODING, ContentEncoding.GZIP)
+                                .header("Authorization", "Bearer " + token)
+                                .build(),
+                        HttpResponse.BodyHandlers.ofInputStream()));
+        CompletableFuture<HttpResponse<InputStream>> response = upstream.deadline().bound(() -> exchange);
+
+        // A response that arrives after the caller gave up would otherwise keep its connection
+        exchange.thenAccept(late -> {
+            if (response.isCompletedExceptionally()) {
+                closeQuietly(late.body());
+            }
+        });
+        return await(response);
+    }
+
+    /**
+     * Serves the response from {@link ResponseCache} while upstream says it is fresh. A stale entry inside its
+     * {@code stale-while-revalidate} window is served while one background request revalidates it; otherwise
+     * the request is sent, conditionally when a previous response had an {@code ETag} or {@code Last-Modified}.
+     * Routes with {@code "cache": false} always go upstream. A request that is not
+     * {@link UpstreamRequest#shareable()} goes upstream on its own and its response is not stored.
+     * <p>
+     * Waiting on the token and the upstream is bounded by the request's {@link UpstreamRequest#deadline()}; once
+     * it has passed, the call fails with {@link DeadlineExceededException} without being sent. A cached response
+     * is still served.
+     */
+    public CompletableFuture<String> callAsync(UpstreamRequest upstream) {
+        Route route = upstream.route();
+        String cacheKey = ResponseCache.keyFor(upstream.request(), route.forwardHeaders(),
+                SSMApigeeProvider.resolveKey(route.tokenSecret()));
+
+        if (!upstream.shareable()) {
+            return upstream.deadline().bound(() -> send(upstream, cacheKey, null));
+        }
+        if (!route.cacheable()) {
+            return upstream.deadline().bound(() -> fetch(upstream, cacheKey, null));
+        }
+
+        CachedResponse cached = responseCache.get(cacheKey);
+        Instant now = responseCache.now();
+
+        if (cached != null && cached.isFreshAt(now)) {
+            log.debug("Route {} served from cache, fresh until {}", route.name(), cached.freshUntil());
+            return CompletableFuture.completedFuture(cached.body());
+        }
+
+        if (cached != null && cached.isServableStaleAt(now)) {
+            if (responseCache.tryStartRevalidation(cacheKey)) {
+                log.debug("Serving stale response for route {} while revalidating", route.name());
+                fetch(upstream, cacheKey, cached).whenComplete((body, error) -> {
+                    responseCache.endRevalidation(cacheKey);
+                    if (error != null) {
+                        log.warn("Background revalidation for route {} failed: {}", route.name(), error.getMessage());
+                    }
+                });
+            }
+            return CompletableFuture.completedFuture(cached.body());
+        }
+
+        return upstream.deadline().bound(() -> fetch(upstream, cacheKey, cached));
+    }
+
+    /**
+     * Fetches the bearer token for {@code tokenSecret} ahead of the first request that needs it. A cached token
+     * that is still valid is kept.
+     */
+    public CompletableFuture<String> prefetchToken(String tokenSecret) {
+        return tokens.apply(tokenSecret);
+    }
+
+    /**
+     * Drops the cached bearer token for {@code tokenSecret} and fetches a new one.
+     */
+    public CompletableFuture<String> refreshToken(String tokenSecret) {
+        invalidateToken.accept(tokenSecret);
+        return tokens.apply(tokenSecret);
+    }
 
+    /**
+     * Writes the token metrics recorded so far. Called at the end of every invocation: the environment may be
+     * frozen or shut down before another value is recorded.
+     */
+    public static void flushMetrics() {
+        SSMApigeeProvider provider = tokenProvider;
+        if (provider != null) {
+            provider.metrics().flush();
+        }
+    }
+
+    public CacheStats responseCacheStats() {
+        return responseCache.stats();
+    }
+
+    /**
+     * Number of distinct upstream requests currently in flight; concurrent identical requests count once.
+     */
+    public int upstreamCallsInFlight() {
+        return upstreamCalls.inFlightCount();
+    }
+
+    /**
+     * Concurrent callers for the same method, URL, representation and forwarded headers and credentials share
+     * one upstream exchange. Each gets its own future, and the decoded body is an immutable {@code String}, so no caller
+     * can affect what another one receives.
+     */
+    private CompletableFuture<String> fetch(UpstreamRequest upstream, String cacheKey, CachedResponse cached) {
+        // The cache key carries the forwarded headers and the credential scope, so only requests the upstream
+        // would answer alike share
+        return upstreamCalls.executeAsync(cacheKey, () -> send(upstream, cacheKey, cached));
+    }
+
+    /**
+     * Starts the token lookup and prepares the request concurrently, then sends it with
+     * {@code sendAsync}; no thread is held while waiting on either the token endpoint or the external API.
+     * The body is requested gzip-compressed and decoded to text as it is inflated, so cached and coalesced
+     * responses are the same for every caller.
+     */
+    private CompletableFuture<String> send(UpstreamRequest upstream, String cacheKey, CachedResponse cached) {
+        Route route = upstream.route();
+        log.info("Initiating external API call for route {}: {}", route.name(), upstream.request().uri());
+
+        CompletableFuture<String> accessToken = tokens.apply(route.tokenSecret());
+
+        // Everything except the Authorization header is known before the token arrives
+        HttpRequest.Builder request = responseCache.withConditionalHeaders(
+                HttpRequest.newBuilder(upstream.request(), (name, value) -> true), cached)
+                .setHeader(ContentEncoding.ACCEPT_ENCODING, ContentEncoding.GZIP);
+
+        return accessToken.thenCompose(token -> {
+            log.debug("Retrieved access token from provider, length: {} characters", token.length());
+
+            return SharedHttpTransport.sendAsync(
+                    request.header("Authorization", "Bearer " + token).build(),
+                    ContentEncoding.decodedString()
+            );
+        }).thenApply(response -> {
             int statusCode = response.statusCode();
 
+            if (statusCode == 304 && cached != null) {
+                log.info("External API response not modified, serving cached body");
+                responseCache.revalidated(cacheKey, cached, response, route.cacheTtlSeconds());
+                return cached.body();
+            }
+
             if (statusCode >= 200 && statusCode < 300) {
                 log.info("External API call successful: status={}", statusCode);
+                if (statusCode == 200 && route.cacheable() && upstream.shareable()) {
+                    responseCache.store(cacheKey, response, route.cacheTtlSeconds());
+                }
                 return response.body();
-            } else {
-                log.error("External API error: status={}, body={}", statusCode, response.body());
-                throw new ExternalApiException("API returned status: " + statusCode);
             }
 
+            log.error("External API error: status={}, body={}", statusCode, response.body());
+            throw new ExternalApiException("API returned status: " + statusCode);
+        });
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
         } catch (IOException e) {
-            log.error("Network error calling external API", e);
-            throw new ExternalApiException("Network error during API call", e);
+            log.debug("Failed to close abandoned response body: {}", e.getMessage());
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                    ? e.getCause().getCause() : e.getCause();
+
+            if (cause instanceof ExternalApiException apiException) {
+                throw apiException;
+            }
+            if (cause instanceof IOException) {
+                log.error("Network error calling external API", cause);
+                throw new ExternalApiException("Network error during API call", cause);
+            }
+            log.error("Unexpected error during API call", cause);
+            throw new ExternalApiException("Unexpected error during API call", cause);
         } catch (InterruptedException e) {
             log.error("Request interrupted", e);
             Thread.currentThread().interrupt();
             throw new ExternalApiException("Request interrupted", e);
-        } catch (Exception e) {
-            log.error("Unexpected error during API call", e);
-            throw new ExternalApiException("Unexpected error during API call", e);
         }
     }
 }
-
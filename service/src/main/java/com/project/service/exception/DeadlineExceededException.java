@@ -0,0 +1,10 @@
+package com.project.service.exception;
+
+/**
+ * The invocation's time budget ran out before the upstream call completed; surfaced to clients as 504.
+ */
+public class DeadlineExceededException extends ExternalApiException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
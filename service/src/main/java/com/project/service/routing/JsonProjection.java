@@ -0,0 +1,292 @@
+package com.project.service.routing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.project.service.exception.ExternalApiException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The subset of an upstream JSON document a route returns, selected by JSONPath-style field paths such as
+ * {@code $.roNumber}, {@code customer.name} or {@code lines[*].description}.
+ * <p>
+ * A path is a dot-separated list of property names; the leading {@code $.} is optional and {@code *} matches
+ * any property. Arrays are traversed transparently, so {@code [*]} may be written but is not needed. A selected
+ * property is kept whole, along with the objects and arrays leading to it; everything else is dropped. Paths
+ * through {@code *} also apply to properties that are named elsewhere, so {@code customer.name} and
+ * {@code *.id} together keep both {@code customer.name} and {@code customer.id}. When nothing matches, the
+ * result is an empty object or array of the same shape as the document.
+ * <p>
+ * The document is filtered token by token with a {@link FilteringParserDelegate} and copied to the output as it
+ * is read, so no tree of the upstream document is built.
+ */
+public final class JsonProjection {
+
+    public static final JsonProjection NONE = new JsonProjection(List.of(), null);
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final List<String> paths;
+    private final TokenFilter filter;
+
+    private JsonProjection(List<String> paths, TokenFilter filter) {
+        this.paths = paths;
+        this.filter = filter;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a path is empty or uses an unsupported selector
+     */
+    public static JsonProjection compile(List<String> paths) {
+        if (paths == null || paths.isEmpty()) {
+            return NONE;
+        }
+
+        PathFilter root = new PathFilter();
+        for (String path : paths) {
+            root.add(segments(path), 0);
+        }
+        root.mergeWildcards();
+        return new JsonProjection(List.copyOf(paths), root);
+    }
+
+    public boolean isIdentity() {
+        return filter == null;
+    }
+
+    public List<String> paths() {
+        return paths;
+    }
+
+    /**
+     * @throws ExternalApiException if the body is not well-formed JSON
+     */
+    public String apply(String json) {
+        if (isIdentity() || json == null || json.isBlank()) {
+            return json;
+        }
+
+        StringWriter out = new StringWriter(Math.min(json.length(), 8192));
+        try {
+            project(FACTORY.createParser(json), out);
+        } catch (IOException e) {
+            throw invalid(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Projects the document read from {@code in} into {@code out}. Neither is closed.
+     *
+     * @throws ExternalApiException if the body is not well-formed JSON
+     */
+    public void apply(Reader in, Writer out) throws IOException {
+        try {
+            project(FACTORY.createParser(in).disable(JsonParser.Feature.AUTO_CLOSE_SOURCE), out);
+        } catch (JsonProcessingException e) {
+            throw invalid(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isIdentity() ? "JsonProjection[all]" : "JsonProjection" + paths;
+    }
+
+    private void project(JsonParser source, Writer out) throws IOException {
+        RootFilter root = new RootFilter(filter);
+        try (JsonParser parser = new FilteringParserDelegate(source, root,
+                TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH, true);
+             JsonGenerator generator = FACTORY.createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            boolean matched = false;
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+                matched = true;
+            }
+
+            // Nothing matched: answer with an empty document of the same shape rather than an empty body. This is
+            // written here because a root filter that keeps empty containers through includeEmptyObject and
+            // includeEmptyArray corrupts the delegate's buffered tokens once a path below it does match.
+            if (!matched && root.container == JsonToken.START_ARRAY) {
+                generator.writeStartArray();
+                generator.writeEndArray();
+            } else if (!matched && root.container == JsonToken.START_OBJECT) {
+                generator.writeStartObject();
+                generator.writeEndObject();
+            } else if (!matched) {
+                generator.writeNull();
+            }
+        }
+    }
+
+    private static ExternalApiException invalid(IOException e) {
+        String message = e instanceof JsonProcessingException processing
+                ? processing.getOriginalMessage() : e.getMessage();
+        return new ExternalApiException("Cannot project upstream response, not valid JSON: " + message, e);
+    }
+
+    private static List<String> segments(String path) {
+        String trimmed = path != null ? path.trim() : "";
+        if (trimmed.startsWith("$")) {
+            trimmed = trimmed.substring(1);
+        }
+        if (trimmed.startsWith(".")) {
+            trimmed = trimmed.substring(1);
+        }
+        trimmed = trimmed.replace("[*]", "");
+
+        List<String> segments = new ArrayList<>();
+        for (String segment : trimmed.split("\\.", -1)) {
+            if (segment.isEmpty() || segment.indexOf('[') >= 0 || segment.indexOf(']') >= 0) {
+                throw new IllegalArgumentException("Unsupported projection path: " + path);
+            }
+            segments.add(segment);
+        }
+        return segments;
+    }
+
+    /**
+     * A node of the path trie. Properties on a selected path map to {@link TokenFilter#INCLUDE_ALL}; the ones
+     * on the way there map to the next node.
+     */
+    private static final class PathFilter extends TokenFilter {
+
+        private final Map<String, TokenFilter> properties = new HashMap<>();
+
+        void add(List<String> segments, int index) {
+            String name = segments.get(index);
+            if (index == segments.size() - 1) {
+                properties.put(name, TokenFilter.INCLUDE_ALL);
+                return;
+            }
+
+            TokenFilter child = properties.get(name);
+            if (child == TokenFilter.INCLUDE_ALL) {
+                return;
+            }
+            if (child == null) {
+                child = new PathFilter();
+                properties.put(name, child);
+            }
+            ((PathFilter) child).add(segments, index + 1);
+        }
+
+        /**
+         * Copies the paths under {@code *} into every named property of this node and, recursively, of the
+         * nodes below it, since a filter can only hand one child to each property.
+         */
+        void mergeWildcards() {
+            TokenFilter wildcard = properties.get("*");
+            if (wildcard != null) {
+                for (Map.Entry<String, TokenFilter> entry : properties.entrySet()) {
+                    if (entry.getKey().equals("*") || entry.getValue() == TokenFilter.INCLUDE_ALL) {
+                        continue;
+                    }
+                    if (wildcard == TokenFilter.INCLUDE_ALL) {
+                        entry.setValue(TokenFilter.INCLUDE_ALL);
+                    } else {
+                        ((PathFilter) entry.getValue()).merge((PathFilter) wildcard);
+                    }
+                }
+            }
+
+            for (TokenFilter child : properties.values()) {
+                if (child instanceof PathFilter node) {
+                    node.mergeWildcards();
+                }
+            }
+        }
+
+        private void merge(PathFilter other) {
+            for (Map.Entry<String, TokenFilter> entry : other.properties.entrySet()) {
+                TokenFilter existing = properties.get(entry.getKey());
+                if (existing == TokenFilter.INCLUDE_ALL) {
+                    continue;
+                }
+                if (entry.getValue() == TokenFilter.INCLUDE_ALL) {
+                    properties.put(entry.getKey(), TokenFilter.INCLUDE_ALL);
+                    continue;
+                }
+
+                // Copy rather than share, so later merges into this node do not reach the other one
+                PathFilter target = (PathFilter) existing;
+                if (target == null) {
+                    target = new PathFilter();
+                    properties.put(entry.getKey(), target);
+                }
+                target.merge((PathFilter) entry.getValue());
+            }
+        }
+
+        @Override
+        public TokenFilter includeProperty(String name) {
+            TokenFilter child = properties.get(name);
+            return child != null ? child : properties.get("*");
+        }
+
+        @Override
+        public TokenFilter includeElement(int index) {
+            return this;
+        }
+
+        @Override
+        public TokenFilter includeRootValue(int index) {
+            return this;
+        }
+
+        @Override
+        protected boolean _includeScalar() {
+            // A scalar where the path expects an object or array does not match
+            return false;
+        }
+    }
+
+    /**
+     * Per-document entry point to the shared path trie that records whether the document is an object or an
+     * array.
+     */
+    private static final class RootFilter extends TokenFilter {
+
+        private final TokenFilter paths;
+        private JsonToken container;
+
+        RootFilter(TokenFilter paths) {
+            this.paths = paths;
+        }
+
+        @Override
+        public TokenFilter includeRootValue(int index) {
+            return this;
+        }
+
+        @Override
+        public TokenFilter filterStartObject() {
+            container = JsonToken.START_OBJECT;
+            return paths;
+        }
+
+        @Override
+        public TokenFilter filterStartArray() {
+            container = JsonToken.START_ARRAY;
+            return paths;
+        }
+
+        @Override
+        protected boolean _includeScalar() {
+            return false;
+        }
+    }
+}
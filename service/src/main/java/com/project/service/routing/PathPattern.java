@@ -0,0 +1,119 @@
+package com.project.service.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An API Gateway style path such as {@code /repairorder/{roNum}} or {@code /{proxy+}}, compiled into
+ * segments once so matching a request path is a single pass without regular expressions.
+ * <p>
+ * {@code {name}} captures one path segment; a final {@code {name+}} captures the remaining path, which may be
+ * empty. A trailing slash on the request path is ignored.
+ */
+public final class PathPattern {
+
+    private final String pattern;
+    private final String[] segments;
+    private final boolean[] captures;
+    private final boolean greedy;
+
+    private PathPattern(String pattern, String[] segments, boolean[] captures, boolean greedy) {
+        this.pattern = pattern;
+        this.segments = segments;
+        this.captures = captures;
+        this.greedy = greedy;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern does not start with '/' or a greedy capture is not last
+     */
+    public static PathPattern compile(String pattern) {
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Route path must start with '/': " + pattern);
+        }
+
+        List<String> segments = new ArrayList<>();
+        List<Boolean> captures = new ArrayList<>();
+        boolean greedy = false;
+
+        for (String segment : pattern.substring(1).split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (greedy) {
+                throw new IllegalArgumentException("Greedy capture must be the last segment: " + pattern);
+            }
+
+            boolean capture = segment.startsWith("{") && segment.endsWith("}");
+            if (capture) {
+                segment = segment.substring(1, segment.length() - 1);
+                if (segment.endsWith("+")) {
+                    greedy = true;
+                    segment = segment.substring(0, segment.length() - 1);
+                }
+                if (segment.isEmpty()) {
+                    throw new IllegalArgumentException("Empty capture in route path: " + pattern);
+                }
+            }
+            segments.add(segment);
+            captures.add(capture);
+        }
+
+        boolean[] captureFlags = new boolean[captures.size()];
+        for (int i = 0; i < captureFlags.length; i++) {
+            captureFlags[i] = captures.get(i);
+        }
+        return new PathPattern(pattern, segments.toArray(String[]::new), captureFlags, greedy);
+    }
+
+    /**
+     * Matches the request path, putting captured segments into {@code parameters}. On a mismatch,
+     * {@code parameters} may contain partial captures.
+     */
+    public boolean matches(String path, Map<String, String> parameters) {
+        int end = path.length();
+        if (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+
+        int position = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (position >= end || path.charAt(position) != '/') {
+                return false;
+            }
+            position++;
+
+            boolean last = i == segments.length - 1;
+            boolean greedyCapture = greedy && last;
+            int segmentEnd = greedyCapture ? end : indexOfSlash(path, position, end);
+            if (segmentEnd == position && !greedyCapture) {
+                return false;
+            }
+
+            if (captures[i]) {
+                parameters.put(segments[i], path.substring(position, segmentEnd));
+            } else if (segmentEnd - position != segments[i].length()
+                    || !path.regionMatches(position, segments[i], 0, segments[i].length())) {
+                return false;
+            }
+            position = segmentEnd;
+        }
+
+        return position == end || (segments.length == 0 && end == 1 && path.charAt(0) == '/');
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static int indexOfSlash(String path, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (path.charAt(i) == '/') {
+                return i;
+            }
+        }
+        return end;
+    }
+}
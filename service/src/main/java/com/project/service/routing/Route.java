@@ -0,0 +1,46 @@
+package com.project.service.routing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One entry of the {@link RouteTable}: which requests it accepts and how the upstream call is made.
+ *
+ * @param method          HTTP method the route accepts and sends upstream, or {@value #ANY_METHOD} to accept
+ *                        every method and call the upstream with {@code GET}
+ * @param headers         static headers sent upstream
+ * @param forwardHeaders  request headers copied upstream when present
+ * @param forwardQuery    query parameters appended to the upstream URL when present
+ * @param cacheable       whether upstream responses for this route may be cached at all
+ * @param cacheTtlSeconds freshness for responses without {@code Cache-Control}/{@code Expires}, or {@code null}
+ *                        for the {@code EXTERNAL_API_CACHE_DEFAULT_TTL_SECONDS} default
+ * @param tokenSecret     secret holding the OAuth client credentials, or {@code null} for {@code TOKEN_SECRET_NAME}
+ * @param stream          whether {@code StreamingApiHandler} pipes the upstream body through instead of
+ *                        going through the response cache
+ * @param projection      fields of the upstream JSON returned to the client; {@link JsonProjection#NONE} for all
+ */
+public record Route(String name,
+                    String method,
+                    PathPattern path,
+                    UriTemplate upstream,
+                    Map<String, String> headers,
+                    List<String> forwardHeaders,
+                    List<String> forwardQuery,
+                    Duration timeout,
+                    boolean cacheable,
+                    Long cacheTtlSeconds,
+                    String tokenSecret,
+                    boolean stream,
+                    JsonProjection projection) {
+
+    public static final String ANY_METHOD = "ANY";
+
+    public boolean acceptsMethod(String requestMethod) {
+        return ANY_METHOD.equals(method) || method.equalsIgnoreCase(requestMethod);
+    }
+
+    public String upstreamMethod() {
+        return ANY_METHOD.equals(method) ? "GET" : method;
+    }
+}
@@ -0,0 +1,101 @@
+package com.project.service.routing;
+
+import com.project.service.exception.DeadlineExceededException;
+import com.project.service.util.Deadline;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A {@link Route} matched against a request path, with the captured path parameters and the request's method.
+ */
+public record RouteMatch(Route route, Map<String, String> pathParameters, String method) {
+
+    public RouteMatch(Route route, Map<String, String> pathParameters) {
+        this(route, pathParameters, route.upstreamMethod());
+    }
+
+    /**
+     * Builds the upstream request. Template placeholders are filled from the path parameters first and the
+     * query string second.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public UpstreamRequest toUpstreamRequest(Map<String, String> queryParameters, Map<String, String> requestHeaders) {
+        return toUpstreamRequest(queryParameters, requestHeaders, Deadline.NONE);
+    }
+
+    /**
+     * As {@link #toUpstreamRequest(Map, Map)}, with the route's timeout capped to what is left of the deadline.
+     * <p>
+     * A request the upstream receives as a {@code GET} although it was made with another method, as on an
+     * {@value Route#ANY_METHOD} route, is marked as not shareable: it must not be answered from a cached or
+     * coalesced {@code GET}.
+     *
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    public UpstreamRequest toUpstreamRequest(Map<String, String> queryParameters, Map<String, String> requestHeaders,
+                                             Deadline deadline) {
+        Duration timeout = deadline.cap(route.timeout());
+        Map<String, String> query = queryParameters != null ? queryParameters : Map.of();
+
+        Map<String, String> values = pathParameters;
+        if (!query.isEmpty()) {
+            values = new HashMap<>(query);
+            values.putAll(pathParameters);
+        }
+
+        StringBuilder uri = new StringBuilder(route.upstream().expand(values));
+        char separator = uri.indexOf("?") >= 0 ? '&' : '?';
+        for (String name : route.forwardQuery()) {
+            String value = query.get(name);
+            if (value != null) {
+                uri.append(separator);
+                UriTemplate.appendEncoded(uri, name);
+                uri.append('=');
+                UriTemplate.appendEncoded(uri, value);
+                separator = '&';
+            }
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(URI.create(uri.toString()))
+                .timeout(timeout)
+                .method(route.upstreamMethod(), HttpRequest.BodyPublishers.noBody());
+
+        route.headers().forEach(request::header);
+        for (String name : route.forwardHeaders()) {
+            String value = header(requestHeaders, name);
+            if (value != null) {
+                request.header(name, value);
+            }
+        }
+
+        return new UpstreamRequest(route, request.build(), deadline, isShareable());
+    }
+
+    private boolean isShareable() {
+        return !route.upstreamMethod().equals("GET")
+                || "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+    }
+
+    private static String header(Map<String, String> headers, String name) {
+        if (headers == null) {
+            return null;
+        }
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        // API Gateway keeps the client's casing
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
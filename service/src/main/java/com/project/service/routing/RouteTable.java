@@ -0,0 +1,200 @@
+package com.project.service.routing;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps API Gateway paths to upstream URL templates.
+ * <p>
+ * Routes are read from the {@code UPSTREAM_ROUTES} environment variable when set, otherwise from the bundled
+ * {@code routes.json}, and are tried in order; the first match wins. {@code ${NAME}} in an upstream URL or header
+ * value is replaced with the environment variable of that name once at load time; a route that references an
+ * unset variable is skipped with a warning. Path and URL templates are compiled at load time.
+ */
+public final class RouteTable {
+
+    private static final Logger log = LogManager.getLogger(RouteTable.class);
+
+    static final String ROUTES_RESOURCE = "/routes.json";
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{([A-Za-z0-9_]+)}");
+    private static final int DEFAULT_TIMEOUT_SECONDS = 30;
+
+    private final List<Route> routes;
+
+    private RouteTable(List<Route> routes) {
+        this.routes = List.copyOf(routes);
+    }
+
+    public static RouteTable load() {
+        String json = System.getenv("UPSTREAM_ROUTES");
+        if (json == null || json.isBlank()) {
+            json = readResource();
+        }
+
+        RouteTable table = parse(json, RouteTable::lookupEnv);
+        log.info("Loaded {} upstream routes", table.routes.size());
+        return table;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the JSON is malformed or a route is invalid
+     */
+    static RouteTable parse(String json, Function<String, String> environment) {
+        RouteConfig[] configs;
+        try {
+            configs = new ObjectMapper()
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true)
+                    .readValue(json, RouteConfig[].class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid route table: " + e.getMessage(), e);
+        }
+
+        List<Route> routes = new ArrayList<>();
+        for (RouteConfig config : configs) {
+            Route route = toRoute(config, environment);
+            if (route != null) {
+                routes.add(route);
+            }
+        }
+        return new RouteTable(routes);
+    }
+
+    /**
+     * Returns the first route accepting the method and path, or {@code null} when none does.
+     */
+    public RouteMatch match(String method, String path) {
+        if (method == null || path == null) {
+            return null;
+        }
+
+        Map<String, String> parameters = new HashMap<>(4);
+        for (Route route : routes) {
+            if (route.acceptsMethod(method) && route.path().matches(path, parameters)) {
+                return new RouteMatch(route, parameters, method);
+            }
+            parameters.clear();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the route with the given name, or {@code null}.
+     */
+    public Route route(String name) {
+        for (Route route : routes) {
+            if (route.name().equals(name)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public List<Route> routes() {
+        return routes;
+    }
+
+    private static Route toRoute(RouteConfig config, Function<String, String> environment) {
+        if (config.path() == null || config.upstream() == null) {
+            throw new IllegalArgumentException("Route needs 'path' and 'upstream': " + config);
+        }
+
+        String name = config.name() != null ? config.name() : config.path();
+        try {
+            Map<String, String> headers = new LinkedHashMap<>();
+            if (config.headers() != null) {
+                for (Map.Entry<String, String> header : config.headers().entrySet()) {
+                    headers.put(header.getKey(), resolve(header.getValue(), environment));
+                }
+            }
+
+            return new Route(
+                    name,
+                    config.method() != null ? config.method().toUpperCase(Locale.ROOT) : "GET",
+                    PathPattern.compile(config.path()),
+                    UriTemplate.compile(resolve(config.upstream(), environment)),
+                    Map.copyOf(headers),
+                    config.forwardHeaders() != null ? List.copyOf(config.forwardHeaders()) : List.of(),
+                    config.forwardQuery() != null ? List.copyOf(config.forwardQuery()) : List.of(),
+                    Duration.ofSeconds(config.timeoutSeconds() != null ? config.timeoutSeconds() : DEFAULT_TIMEOUT_SECONDS),
+                    config.cache() == null || config.cache(),
+                    config.cacheTtlSeconds(),
+                    config.tokenSecret(),
+                    Boolean.TRUE.equals(config.stream()),
+                    JsonProjection.compile(config.fields()));
+        } catch (UnresolvedVariableException e) {
+            log.warn("Skipping route {}: environment variable {} is not set", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String resolve(String value, Function<String, String> environment) {
+        if (value == null || value.indexOf('$') < 0) {
+            return value;
+        }
+
+        Matcher matcher = PLACEHOLDER.matcher(value);
+        StringBuilder resolved = new StringBuilder();
+        while (matcher.find()) {
+            String replacement = environment.apply(matcher.group(1));
+            if (replacement == null || replacement.isBlank()) {
+                throw new UnresolvedVariableException(matcher.group(1));
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(replacement.trim()));
+        }
+        return matcher.appendTail(resolved).toString();
+    }
+
+    private static String lookupEnv(String name) {
+        String value = System.getenv(name);
+        return value != null ? value : System.getProperty(name);
+    }
+
+    private static String readResource() {
+        try (InputStream in = RouteTable.class.getResourceAsStream(ROUTES_RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing classpath resource " + ROUTES_RESOURCE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    record RouteConfig(String name,
+                       String method,
+                       String path,
+                       String upstream,
+                       Map<String, String> headers,
+                       List<String> forwardHeaders,
+                       List<String> forwardQuery,
+                       Integer timeoutSeconds,
+                       Boolean cache,
+                       Long cacheTtlSeconds,
+                       String tokenSecret,
+                       Boolean stream,
+                       List<String> fields) {
+    }
+
+    private static final class UnresolvedVariableException extends RuntimeException {
+        UnresolvedVariableException(String variable) {
+            super(variable, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.service.routing;
+
+import com.project.service.util.Deadline;
+
+import java.net.http.HttpRequest;
+
+/**
+ * A routed request ready to send upstream, still without its {@code Authorization} header, and the deadline
+ * its result is needed by.
+ *
+ * @param shareable whether the response may come from the response cache or a concurrent identical request
+ */
+public record UpstreamRequest(Route route, HttpRequest request, Deadline deadline, boolean shareable) {
+
+    public UpstreamRequest(Route route, HttpRequest request) {
+        this(route, request, Deadline.NONE, true);
+    }
+}
@@ -0,0 +1,182 @@
+package com.project.service.routing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An upstream URL with {@code {name}} placeholders, split into literal and variable parts once at load time.
+ * <p>
+ * {@code {name}} expands to one percent-encoded path segment or query value; {@code {name+}} expands a multi-segment
+ * value such as a greedy path capture, encoding each segment but keeping the {@code /} between them. A value placed
+ * in the path may not contain a {@code .} or {@code ..} segment, which would move the request to another upstream
+ * resource.
+ * <p>
+ * {@link #expand} appends the parts into one pre-sized {@code StringBuilder}; values that only contain
+ * unreserved characters, the common case for ids, are appended without an intermediate encoded copy.
+ */
+public final class UriTemplate {
+
+    private final String template;
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean[] multiSegment;
+    private final boolean[] inPath;
+    private final int literalLength;
+
+    private UriTemplate(String template, String[] literals, String[] variables, boolean[] multiSegment,
+                        boolean[] inPath) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = variables;
+        this.multiSegment = multiSegment;
+        this.inPath = inPath;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @throws IllegalArgumentException if a placeholder is unterminated or empty
+     */
+    public static UriTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        List<Boolean> multiSegment = new ArrayList<>();
+        List<Boolean> inPath = new ArrayList<>();
+
+        boolean query = false;
+        int position = 0;
+        while (true) {
+            int open = template.indexOf('{', position);
+            if (open < 0) {
+                literals.add(template.substring(position));
+                break;
+            }
+
+            int close = template.indexOf('}', open);
+            if (close < 0 || close == open + 1) {
+                throw new IllegalArgumentException("Invalid placeholder in URI template: " + template);
+            }
+
+            String literal = template.substring(position, open);
+            String variable = template.substring(open + 1, close);
+            boolean greedy = variable.endsWith("+");
+            if (greedy) {
+                variable = variable.substring(0, variable.length() - 1);
+                if (variable.isEmpty()) {
+                    throw new IllegalArgumentException("Invalid placeholder in URI template: " + template);
+                }
+            }
+            query |= literal.indexOf('?') >= 0;
+
+            literals.add(literal);
+            variables.add(variable);
+            multiSegment.add(greedy);
+            inPath.add(!query);
+            position = close + 1;
+        }
+
+        return new UriTemplate(template, literals.toArray(String[]::new), variables.toArray(String[]::new),
+                toArray(multiSegment), toArray(inPath));
+    }
+
+    /**
+     * Substitutes every placeholder with its percent-encoded value.
+     *
+     * @throws IllegalArgumentException if a placeholder has no value, or a path value has a dot segment
+     */
+    public String expand(Map<String, String> values) {
+        StringBuilder uri = new StringBuilder(literalLength + variables.length * 16);
+
+        for (int i = 0; i < variables.length; i++) {
+            uri.append(literals[i]);
+
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for '" + variables[i] + "' in " + template);
+            }
+
+            if (!multiSegment[i]) {
+                checkSegment(variables[i], value, inPath[i]);
+                appendEncoded(uri, value);
+                continue;
+            }
+
+            int start = 0;
+            while (true) {
+                int slash = value.indexOf('/', start);
+                String segment = slash < 0 ? value.substring(start) : value.substring(start, slash);
+                checkSegment(variables[i], segment, inPath[i]);
+                appendEncoded(uri, segment);
+                if (slash < 0) {
+                    break;
+                }
+                uri.append('/');
+                start = slash + 1;
+            }
+        }
+
+        return uri.append(literals[variables.length]).toString();
+    }
+
+    public List<String> variables() {
+        return List.of(variables);
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    /**
+     * Appends {@code value} percent-encoded as a URI path segment or query value (RFC 3986 unreserved
+     * characters are kept, everything else is encoded as UTF-8).
+     */
+    static void appendEncoded(StringBuilder out, String value) {
+        int firstReserved = 0;
+        while (firstReserved < value.length() && isUnreserved(value.charAt(firstReserved))) {
+            firstReserved++;
+        }
+        if (firstReserved == value.length()) {
+            out.append(value);
+            return;
+        }
+
+        out.append(value, 0, firstReserved);
+        byte[] bytes = value.substring(firstReserved).getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            char c = (char) (b & 0xff);
+            if (isUnreserved(c)) {
+                out.append(c);
+            } else {
+                out.append('%')
+                        .append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xf, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(b & 0xf, 16)));
+            }
+        }
+    }
+
+    private static void checkSegment(String variable, String segment, boolean inPath) {
+        if (inPath && (segment.equals(".") || segment.equals(".."))) {
+            throw new IllegalArgumentException("Invalid value for '" + variable + "': dot segments are not allowed");
+        }
+    }
+
+    private static boolean[] toArray(List<Boolean> flags) {
+        boolean[] array = new boolean[flags.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = flags.get(i);
+        }
+        return array;
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.service.util;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.project.service.exception.DeadlineExceededException;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * The point by which an invocation must have its upstream result, taken from the Lambda {@link Context}.
+ * <p>
+ * {@link #fromContext} subtracts {@code DEADLINE_RESERVE_MILLIS} (default 1000) from the remaining invocation
+ * time, leaving room to write the response and flush logs after the upstream call gives up. Timeouts configured
+ * per route are capped to what is left, and waits on the token and the upstream are bounded by it, so an
+ * invocation that cannot finish in time ends with a 504 instead of running into the Lambda timeout.
+ */
+public final class Deadline {
+
+    private static final long RESERVE_MILLIS = getLongEnv("DEADLINE_RESERVE_MILLIS", 1000);
+
+    /**
+     * No deadline: timeouts are used as configured.
+     */
+    public static final Deadline NONE = new Deadline(Long.MAX_VALUE, false);
+
+    private final long expiresAtNanos;
+    private final boolean bounded;
+
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * The remaining invocation time minus the reserve, or {@link #NONE} without a context (local runs, tests).
+     */
+    public static Deadline fromContext(Context context) {
+        if (context == null) {
+            return NONE;
+        }
+        return after(Duration.ofMillis(context.getRemainingTimeInMillis() - RESERVE_MILLIS));
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    public Duration remaining() {
+        return bounded ? Duration.ofNanos(expiresAtNanos - System.nanoTime()) : ChronoUnit.FOREVER.getDuration();
+    }
+
+    public boolean isExpired() {
+        return bounded && expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @throws DeadlineExceededException if no time is left
+     */
+    public void check() {
+        if (isExpired()) {
+            throw exceeded();
+        }
+    }
+
+    /**
+     * The shorter of {@code timeout} and the remaining time.
+     *
+     * @throws DeadlineExceededException if no time is left
+     */
+    public Duration cap(Duration timeout) {
+        if (!bounded) {
+            return timeout;
+        }
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            throw exceeded();
+        }
+        return remainingNanos < timeout.toNanos() ? Duration.ofNanos(remainingNanos) : timeout;
+    }
+
+    /**
+     * Starts the call if time is left and returns a future that completes like it, or fails with
+     * {@link DeadlineExceededException} once the deadline passes. The call itself is left running, so work
+     * shared with other callers (a coalesced token fetch or upstream request) still completes for them.
+     */
+    public <T> CompletableFuture<T> bound(Supplier<CompletableFuture<T>> call) {
+        if (!bounded) {
+            return call.get();
+        }
+        long remainingNanos = expiresAtNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            return CompletableFuture.failedFuture(exceeded());
+        }
+
+        return call.get().copy()
+                .orTimeout(remainingNanos, TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    // A request timeout capped by cap() reports the deadline as an HttpTimeoutException
+                    if (cause instanceof TimeoutException || (cause instanceof HttpTimeoutException && isExpired())) {
+                        return CompletableFuture.failedFuture(exceeded());
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[remaining=" + remaining().toMillis() + " ms]" : "Deadline[none]";
+    }
+
+    private DeadlineExceededException exceeded() {
+        return new DeadlineExceededException("Invocation time budget exhausted");
+    }
+
+    private static long getLongEnv(String name, long defaultValue) {
+        try {
+            return Long.parseLong(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.service.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * Writes API Gateway proxy response envelopes straight to a {@code RequestStreamHandler} output stream.
+ * <p>
+ * {@link #writeStreaming} copies the upstream body into the envelope's {@code body} string chunk by chunk
+ * through the generator's fixed-size buffer, so the body is never held in memory as a whole; {@link #writeBinary}
+ * does the same for bytes, base64-encoding them on the way.
+ */
+public final class ProxyResponseWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private ProxyResponseWriter() {
+    }
+
+    public static void write(OutputStream out, int statusCode, Map<String, String> headers, String body)
+            throws IOException {
+        try (JsonGenerator generator = open(out, statusCode, headers)) {
+            generator.writeStringField("body", body);
+            close(generator, false);
+        }
+    }
+
+    /**
+     * Writes the envelope with {@code body} decoded from {@code charset} and JSON-escaped as it is read.
+     * The body stream is read to the end but not closed.
+     */
+    public static void writeStreaming(OutputStream out, int statusCode, Map<String, String> headers,
+                                      InputStream body, Charset charset) throws IOException {
+        try (JsonGenerator generator = open(out, statusCode, headers)) {
+            Reader reader = new InputStreamReader(body, charset);
+            generator.writeFieldName("body");
+            generator.writeString(reader, -1);
+            close(generator, false);
+        }
+    }
+
+    /**
+     * Writes the envelope with the body bytes base64-encoded as they are read and {@code isBase64Encoded} set,
+     * for bodies that are passed through unchanged, such as an already compressed upstream response.
+     * The body stream is read to the end but not closed.
+     */
+    public static void writeBinary(OutputStream out, int statusCode, Map<String, String> headers,
+                                   InputStream body) throws IOException {
+        try (JsonGenerator generator = open(out, statusCode, headers)) {
+            generator.writeFieldName("body");
+            generator.writeBinary(body, -1);
+            close(generator, true);
+        }
+    }
+
+    private static JsonGenerator open(OutputStream out, int statusCode, Map<String, String> headers)
+            throws IOException {
+        JsonGenerator generator = FACTORY.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeNumberField("statusCode", statusCode);
+        generator.writeObjectFieldStart("headers");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            generator.writeStringField(header.getKey(), header.getValue());
+        }
+        generator.writeEndObject();
+        return generator;
+    }
+
+    private static void close(JsonGenerator generator, boolean base64Encoded) throws IOException {
+        generator.writeBooleanField("isBase64Encoded", base64Encoded);
+        generator.writeEndObject();
+        generator.flush();
+    }
+}
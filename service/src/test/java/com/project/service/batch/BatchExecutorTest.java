@@ -0,0 +1,194 @@
+package com.project.service.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.service.exception.ExternalApiException;
+import com.project.service.routing.RouteTable;
+import com.project.service.routing.RouteTableTest;
+import com.project.service.routing.UpstreamRequest;
+import com.project.service.util.Deadline;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests concurrent fan-out, bounded concurrency and aggregation of batch requests
+ */
+public class BatchExecutorTest {
+
+    private static final long CALL_MILLIS = 200;
+
+    private final RouteTable routes = RouteTableTest.testRoutes();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Test
+    public void testBatchTakesAboutAsLongAsSlowestCall() throws Exception {
+        System.out.println("\n=== Test: concurrent batch fan-out ===");
+        BatchExecutor executor = new BatchExecutor(routes, delayedEcho(), 50, 8);
+
+        long start = System.nanoTime();
+        List<BatchResult> results = executor.execute(batch("repairOrder", 8), null, null, Deadline.NONE);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("8 calls of " + CALL_MILLIS + " ms finished in " + elapsedMillis + " ms");
+        assertEquals(8, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals("RO-" + i, results.get(i).id());
+            assertEquals(200, results.get(i).status());
+        }
+        assertTrue("Expected roughly one call's latency, was " + elapsedMillis + " ms", elapsedMillis < CALL_MILLIS * 4);
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testConcurrencyBounded() throws Exception {
+        BatchExecutor executor = new BatchExecutor(routes, delayedEcho(), 50, 3);
+
+        List<BatchResult> results = executor.execute(batch("repairOrder", 10), null, null, Deadline.NONE);
+
+        assertEquals(10, results.size());
+        assertTrue("At most 3 calls in flight, saw " + maxInFlight.get(), maxInFlight.get() <= 3);
+    }
+
+    @Test
+    public void testPerItemFailures() throws Exception {
+        Function<UpstreamRequest, CompletableFuture<String>> upstream = request ->
+                request.request().uri().getPath().endsWith("RO-1")
+                        ? CompletableFuture.failedFuture(new ExternalApiException("API returned status: 404"))
+                        : CompletableFuture.completedFuture("{\"ro\":\"ok\"}");
+        BatchExecutor executor = new BatchExecutor(routes, upstream, 50, 4);
+
+        String json = executor.executeToJson(batch("repairOrder", 3), null, null, Deadline.NONE);
+        System.out.println(json);
+
+        JsonNode array = new ObjectMapper().readTree(json);
+        assertEquals(3, array.size());
+        assertEquals(200, array.get(0).get("status").asInt());
+        assertEquals("ok", array.get(0).get("body").get("ro").asText());
+        assertEquals(502, array.get(1).get("status").asInt());
+        assertTrue(array.get(1).get("error").asText().contains("404"));
+        assertEquals(200, array.get(2).get("status").asInt());
+    }
+
+    @Test
+    public void testItemsPastDeadlineTimeOut() throws Exception {
+        Function<UpstreamRequest, CompletableFuture<String>> upstream = delayedEcho();
+        BatchExecutor executor = new BatchExecutor(routes,
+                request -> request.deadline().bound(() -> upstream.apply(request)), 50, 4);
+
+        List<BatchResult> results = executor.execute(batch("repairOrder", 2), null, null,
+                Deadline.after(Duration.ofMillis(CALL_MILLIS / 4)));
+
+        for (BatchResult result : results) {
+            assertEquals(504, result.status());
+        }
+        results = executor.execute(batch("repairOrder", 2), null, null, Deadline.after(Duration.ofMillis(-1)));
+        assertEquals(504, results.get(1).status());
+    }
+
+    @Test
+    public void testDotSegmentIdsRejected() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BatchExecutor executor = new BatchExecutor(routes, request -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("{}");
+        }, 50, 4);
+
+        List<BatchResult> results = executor.execute(
+                "{\"route\": \"repairOrder\", \"ids\": [\"..\", \".\", \"RO-1\"]}", null, null, Deadline.NONE);
+
+        assertEquals(400, results.get(0).status());
+        assertEquals(400, results.get(1).status());
+        assertEquals(200, results.get(2).status());
+        assertEquals("Only the valid id goes upstream", 1, calls.get());
+    }
+
+    @Test
+    public void testRouteProjectionApplied() throws Exception {
+        BatchExecutor executor = new BatchExecutor(routes, request -> CompletableFuture.completedFuture(
+                "{\"roNumber\":\"73859\",\"status\":\"OPEN\",\"lines\":[{\"description\":\"Oil\",\"price\":1}]}"),
+                50, 4);
+
+        JsonNode array = new ObjectMapper().readTree(
+                executor.executeToJson(batch("summary", 1), null, null, Deadline.NONE));
+        assertEquals("{\"roNumber\":\"73859\",\"lines\":[{\"description\":\"Oil\"}]}",
+                array.get(0).get("body").toString());
+    }
+
+    @Test
+    public void testNonJsonBodyEmbeddedAsString() throws Exception {
+        BatchExecutor executor = new BatchExecutor(routes, request -> CompletableFuture.completedFuture("plain {text"), 50, 4);
+
+        JsonNode array = new ObjectMapper().readTree(
+                executor.executeToJson(batch("repairOrder", 1), null, null, Deadline.NONE));
+        assertEquals("plain {text", array.get(0).get("body").asText());
+    }
+
+    @Test
+    public void testTruncatedJsonBodyEmbeddedAsString() throws Exception {
+        for (String body : List.of("{\"ro\":\"73859\",\"lines\":[{\"price\":1}", "{\"ro\":1} {\"ro\":2}")) {
+            BatchExecutor executor = new BatchExecutor(routes, request -> CompletableFuture.completedFuture(body), 50, 4);
+
+            JsonNode array = new ObjectMapper().readTree(
+                    executor.executeToJson(batch("repairOrder", 1), null, null, Deadline.NONE));
+            assertEquals(body, array.get(0).get("body").asText());
+        }
+    }
+
+    @Test
+    public void testInvalidBatchesRejected() throws Exception {
+        BatchExecutor executor = new BatchExecutor(routes, delayedEcho(), 2, 4);
+
+        assertRejected(executor, null);
+        assertRejected(executor, "[]");
+        assertRejected(executor, "{\"route\":\"unknown\",\"ids\":[\"1\"]}");
+        assertRejected(executor, "{\"route\":\"repairOrder\",\"ids\":[]}");
+        assertRejected(executor, batch("repairOrder", 3));
+    }
+
+    @Test
+    public void testIsBatchRequest() {
+        assertTrue(BatchExecutor.isBatchRequest("POST", "/batch"));
+        assertTrue(BatchExecutor.isBatchRequest("post", "/batch/"));
+        assertFalse(BatchExecutor.isBatchRequest("GET", "/batch"));
+        assertFalse(BatchExecutor.isBatchRequest("POST", "/batches"));
+    }
+
+    private void assertRejected(BatchExecutor executor, String body) throws InterruptedException {
+        try {
+            executor.execute(body, null, null, Deadline.NONE);
+            fail("Expected IllegalArgumentException for " + body);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+    }
+
+    private Function<UpstreamRequest, CompletableFuture<String>> delayedEcho() {
+        return request -> {
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return "{\"uri\":\"" + request.request().uri() + "\"}";
+            }, CompletableFuture.delayedExecutor(CALL_MILLIS, TimeUnit.MILLISECONDS));
+        };
+    }
+
+    private static String batch(String route, int count) {
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ids.append(i == 0 ? "" : ",").append("\"RO-").append(i).append('"');
+        }
+        return "{\"route\":\"" + route + "\",\"ids\":[" + ids + "]}";
+    }
+}
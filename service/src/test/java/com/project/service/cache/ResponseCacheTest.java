@@ -0,0 +1,264 @@
+package com.project.service.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.net.ssl.SSLSession;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests Cache-Control handling, freshness and revalidation in ResponseCache
+ */
+public class ResponseCacheTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String KEY = "GET https://upstream.example.com/repair-orders";
+
+    private MutableClock clock;
+    private ResponseCache cache;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock(START);
+        cache = new ResponseCache(2, 0, clock);
+    }
+
+    @Test
+    public void testParseCacheControl() {
+        CacheControl cacheControl = CacheControl.parse("public, max-age=60, stale-while-revalidate=30");
+        assertEquals(60, cacheControl.maxAgeSeconds());
+        assertEquals(30, cacheControl.staleWhileRevalidateSeconds());
+        assertFalse(cacheControl.noStore());
+
+        assertTrue(CacheControl.parse("no-store").noStore());
+        assertTrue(CacheControl.parse("No-Cache").noCache());
+        assertTrue(CacheControl.parse("max-age=10, must-revalidate").mustRevalidate());
+        assertEquals(-1, CacheControl.parse("max-age=abc").maxAgeSeconds());
+        assertSame(CacheControl.NONE, CacheControl.parse(null));
+    }
+
+    @Test
+    public void testFreshThenStaleWhileRevalidate() {
+        System.out.println("\n=== Test: max-age and stale-while-revalidate windows ===");
+        cache.store(KEY, response(200, "{\"orders\":[]}", Map.of(
+                "Cache-Control", "max-age=60, stale-while-revalidate=30",
+                "ETag", "\"v1\"")));
+
+        CachedResponse cached = cache.get(KEY);
+        assertEquals("{\"orders\":[]}", cached.body());
+        assertTrue(cached.isFreshAt(clock.instant()));
+
+        clock.advance(Duration.ofSeconds(70));
+        assertFalse(cached.isFreshAt(clock.instant()));
+        assertTrue(cached.isServableStaleAt(clock.instant()));
+
+        clock.advance(Duration.ofSeconds(30));
+        assertFalse(cached.isServableStaleAt(clock.instant()));
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testAgeReducesFreshness() {
+        cache.store(KEY, response(200, "body", Map.of("Cache-Control", "max-age=60", "Age", "50")));
+        assertEquals(START.plusSeconds(10), cache.get(KEY).freshUntil());
+    }
+
+    @Test
+    public void testExpiresUsedWithoutMaxAge() {
+        cache.store(KEY, response(200, "body", Map.of(
+                "Date", "Thu, 01 Jan 2026 00:00:00 GMT",
+                "Expires", "Thu, 01 Jan 2026 00:05:00 GMT")));
+        assertEquals(START.plusSeconds(300), cache.get(KEY).freshUntil());
+    }
+
+    @Test
+    public void testNoStoreAndUncacheableResponsesNotStored() {
+        assertNull(cache.store(KEY, response(200, "body", Map.of("Cache-Control", "no-store, max-age=60"))));
+        assertNull(cache.store(KEY, response(200, "body", Map.of())));
+        assertNull(cache.get(KEY));
+    }
+
+    @Test
+    public void testValidatorsOnlyStoredForRevalidation() {
+        System.out.println("\n=== Test: conditional revalidation ===");
+        cache.store(KEY, response(200, "body", Map.of(
+                "Cache-Control", "no-cache",
+                "ETag", "\"v1\"",
+                "Last-Modified", "Thu, 01 Jan 2026 00:00:00 GMT")));
+
+        CachedResponse cached = cache.get(KEY);
+        assertFalse("no-cache entries are always revalidated", cached.isFreshAt(clock.instant()));
+        assertFalse(cached.isServableStaleAt(clock.instant()));
+
+        HttpRequest conditional = cache.withConditionalHeaders(
+                HttpRequest.newBuilder(URI.create("https://upstream.example.com/repair-orders")), cached).build();
+        assertEquals("\"v1\"", conditional.headers().firstValue("If-None-Match").orElse(null));
+        assertEquals("Thu, 01 Jan 2026 00:00:00 GMT", conditional.headers().firstValue("If-Modified-Since").orElse(null));
+
+        clock.advance(Duration.ofMinutes(5));
+        CachedResponse refreshed = cache.revalidated(KEY, cached, response(304, "", Map.of("Cache-Control", "max-age=120")));
+        assertEquals("body", refreshed.body());
+        assertEquals("\"v1\"", refreshed.etag());
+        assertEquals(clock.instant().plusSeconds(120), refreshed.freshUntil());
+        assertSame(refreshed, cache.get(KEY));
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testMustRevalidateDisablesStaleServing() {
+        cache.store(KEY, response(200, "body", Map.of(
+                "Cache-Control", "max-age=60, stale-while-revalidate=30, must-revalidate")));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertFalse(cache.get(KEY).isServableStaleAt(clock.instant()));
+    }
+
+    @Test
+    public void testBoundedSize() {
+        for (int i = 0; i < 5; i++) {
+            cache.store(KEY + "/" + i, response(200, "body-" + i, Map.of("Cache-Control", "max-age=60")));
+        }
+        assertEquals(2, cache.stats().size());
+        assertEquals(3, cache.stats().evictions());
+    }
+
+    @Test
+    public void testSingleRevalidationPerKey() {
+        assertTrue(cache.tryStartRevalidation(KEY));
+        assertFalse(cache.tryStartRevalidation(KEY));
+        cache.endRevalidation(KEY);
+        assertTrue(cache.tryStartRevalidation(KEY));
+    }
+
+    @Test
+    public void testKeyIgnoresAuthorization() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("https://upstream.example.com/repair-orders"))
+                .header("x-dealer-code", "Z3DT01")
+                .GET();
+
+        String withoutToken = ResponseCache.keyFor(builder.copy().build(), List.of(), "dealer/oauth");
+        String withToken = ResponseCache.keyFor(builder.copy().header("Authorization", "Bearer abc").build(),
+                List.of(), "dealer/oauth");
+
+        assertEquals(withoutToken, withToken);
+        assertTrue(withoutToken.contains("x-dealer-code=Z3DT01"));
+    }
+
+    @Test
+    public void testKeyScopedByCredentials() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("https://upstream.example.com/repair-orders")).GET().build();
+
+        assertNotEquals("Routes with different credentials must not share cached responses",
+                ResponseCache.keyFor(request, List.of(), "dealer/Z3DT01/oauth"),
+                ResponseCache.keyFor(request, List.of(), "dealer/Z9XX99/oauth"));
+        assertEquals(ResponseCache.keyFor(request, List.of(), "dealer/Z3DT01/oauth"),
+                ResponseCache.keyFor(request, List.of(), "dealer/Z3DT01/oauth"));
+    }
+
+    @Test
+    public void testKeyIncludesForwardedHeaders() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("https://upstream.example.com/repair-orders"))
+                .GET();
+        List<String> forwarded = List.of("X-Tenant-Id");
+
+        String tenantA = ResponseCache.keyFor(builder.copy().header("X-Tenant-Id", "a").build(), forwarded,
+                "dealer/oauth");
+        String tenantB = ResponseCache.keyFor(builder.copy().header("X-Tenant-Id", "b").build(), forwarded,
+                "dealer/oauth");
+
+        assertNotEquals("Requests that differ in a forwarded header must not share an entry", tenantA, tenantB);
+        assertTrue(tenantA.contains("x-tenant-id=a"));
+    }
+
+    private static HttpResponse<String> response(int statusCode, String body, Map<String, String> headers) {
+        HttpHeaders httpHeaders = HttpHeaders.of(
+                headers.entrySet().stream().collect(Collectors.toMap(
+                        Map.Entry::getKey, entry -> List.of(entry.getValue()))),
+                (name, value) -> true);
+
+        return new HttpResponse<>() {
+            @Override
+            public int statusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public HttpRequest request() {
+                return HttpRequest.newBuilder(URI.create("https://upstream.example.com/repair-orders")).build();
+            }
+
+            @Override
+            public Optional<HttpResponse<String>> previousResponse() {
+                return Optional.empty();
+            }
+
+            @Override
+            public HttpHeaders headers() {
+                return httpHeaders;
+            }
+
+            @Override
+            public String body() {
+                return body;
+            }
+
+            @Override
+            public Optional<SSLSession> sslSession() {
+                return Optional.empty();
+            }
+
+            @Override
+            public URI uri() {
+                return request().uri();
+            }
+
+            @Override
+            public HttpClient.Version version() {
+                return HttpClient.Version.HTTP_1_1;
+            }
+        };
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
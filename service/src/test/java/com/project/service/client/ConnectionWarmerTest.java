@@ -0,0 +1,54 @@
+package com.project.service.client;
+
+import com.project.service.routing.RouteTableTest;
+import org.junit.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests which hosts and token secrets the connection warm-up targets
+ */
+public class ConnectionWarmerTest {
+
+    @Test
+    public void testUpstreamOriginsDeduplicated() {
+        Set<URI> origins = ConnectionWarmer.upstreamOrigins(RouteTableTest.testRoutes());
+
+        System.out.println("Warm-up origins: " + origins);
+        assertEquals(Set.of(URI.create("https://upstream.example.com/")), origins);
+    }
+
+    @Test
+    public void testDefaultTokenSecretWarmedOnce() {
+        Set<String> secrets = ConnectionWarmer.tokenSecrets(RouteTableTest.testRoutes());
+
+        assertEquals(1, secrets.size());
+        assertTrue(secrets.contains(null));
+    }
+
+    @Test
+    public void testWarmUpOutsideLambdaIsNoOp() {
+        // AWS_LAMBDA_FUNCTION_NAME is not set in unit tests, so nothing is created, sent or registered
+        assertFalse(ConnectionWarmer.warmUp(RouteTableTest.testRoutes()));
+    }
+
+    @Test
+    public void testRestoreHookRunsInSnapshotPhases() {
+        System.out.println("\n=== Test: checkpoint and restore work runs in the CRaC hooks ===");
+        List<String> calls = new ArrayList<>();
+        ConnectionWarmer.RestoreHook hook = new ConnectionWarmer.RestoreHook(
+                () -> calls.add("renew"), () -> calls.add("restore"));
+
+        hook.beforeCheckpoint(null);
+        assertEquals(List.of("renew"), calls);
+
+        hook.afterRestore(null);
+        assertEquals(List.of("renew", "restore"), calls);
+        System.out.println("✓ Test passed");
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.service.client;
+
+import com.project.service.exception.ExternalApiException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests gzip negotiation and decoding of upstream responses against a local HTTP server
+ */
+public class ContentEncodingTest {
+
+    private static final String BODY = "{\"lines\":[" + "{\"text\":\"Ölwechsel 5W-30\"},".repeat(2000) + "{}]}";
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    private static HttpServer server;
+    private static String baseUrl;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/negotiated", exchange -> {
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            if (ContentEncoding.acceptsGzip(acceptEncoding)) {
+                body = gzip(body);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testGzipResponseDecoded() throws Exception {
+        System.out.println("\n=== Test: gzip upstream response ===");
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(baseUrl + "/negotiated"))
+                        .header(ContentEncoding.ACCEPT_ENCODING, ContentEncoding.GZIP).build(),
+                ContentEncoding.decodedString());
+
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        assertEquals(BODY, response.body());
+        System.out.println("Transferred " + response.headers().firstValue("Content-Length").orElse("?")
+                + " bytes for a " + BODY.getBytes(StandardCharsets.UTF_8).length + " byte body");
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testIdentityResponseUnchanged() throws Exception {
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(baseUrl + "/negotiated")).build(),
+                ContentEncoding.decodedString());
+
+        assertFalse(response.headers().firstValue("Content-Encoding").isPresent());
+        assertEquals(BODY, response.body());
+    }
+
+    @Test
+    public void testStreamDecoding() throws Exception {
+        HttpHeaders gzipped = headers(Map.of("Content-Encoding", List.of("gzip")));
+        byte[] compressed = gzip(BODY.getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(ContentEncoding.isGzipEncoded(gzipped));
+        try (InputStream decoded = ContentEncoding.decode(gzipped, new ByteArrayInputStream(compressed))) {
+            assertEquals(BODY, new String(decoded.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        InputStream plain = new ByteArrayInputStream(new byte[0]);
+        assertSame(plain, ContentEncoding.decode(headers(Map.of()), plain));
+    }
+
+    @Test(expected = ExternalApiException.class)
+    public void testUnofferedCodingRejected() throws Exception {
+        ContentEncoding.decode(headers(Map.of("Content-Encoding", List.of("br"))), new ByteArrayInputStream(new byte[0]));
+    }
+
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(ContentEncoding.acceptsGzip("gzip, deflate, br"));
+        assertTrue(ContentEncoding.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(ContentEncoding.acceptsGzip("*"));
+        assertFalse(ContentEncoding.acceptsGzip("gzip;q=0, *"));
+        assertFalse(ContentEncoding.acceptsGzip("br, deflate"));
+        assertFalse(ContentEncoding.acceptsGzip("*;q=0"));
+        assertFalse(ContentEncoding.acceptsGzip(null));
+    }
+
+    @Test
+    public void testCharsetOf() {
+        assertEquals(StandardCharsets.ISO_8859_1, ContentEncoding.charsetOf("text/plain; charset=\"ISO-8859-1\""));
+        assertEquals(StandardCharsets.UTF_8, ContentEncoding.charsetOf("application/json"));
+        assertEquals(StandardCharsets.UTF_8, ContentEncoding.charsetOf("text/plain; charset=bogus"));
+        assertEquals(StandardCharsets.UTF_8, ContentEncoding.charsetOf(null));
+    }
+
+    private static HttpHeaders headers(Map<String, List<String>> values) {
+        return HttpHeaders.of(values, (name, value) -> true);
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,210 @@
+package com.project.service.client;
+
+import com.project.service.cache.ResponseCache;
+import com.project.service.routing.JsonProjection;
+import com.project.service.routing.PathPattern;
+import com.project.service.routing.Route;
+import com.project.service.routing.RouteMatch;
+import com.project.service.routing.UriTemplate;
+import com.project.service.routing.UpstreamRequest;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that concurrent identical upstream requests are coalesced, against a local HTTP server
+ */
+public class ExternalApiClientTest {
+
+    private static final int CALLERS = 10;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ExternalApiClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/orders", exchange -> {
+            hits.incrementAndGet();
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            String tenant = exchange.getRequestHeaders().getFirst("X-Tenant-Id");
+            try {
+                // Hold every response until all callers have been started
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            byte[] body = (tenant != null ? "{\"roNumber\":\"73859\",\"tenant\":\"" + tenant + "\"}"
+                    : "{\"roNumber\":\"73859\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Cache-Control", "max-age=60");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        client = new ExternalApiClient(secret -> CompletableFuture.completedFuture("token-" + secret),
+                secret -> { }, new ResponseCache(16, 0, Clock.systemUTC()));
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentIdenticalCallsShareOneUpstreamRequest() throws Exception {
+        System.out.println("\n=== Test: concurrent identical calls coalesced ===");
+        Route route = route("dealer/a");
+
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(client.callAsync(request(route)));
+        }
+        assertEquals(1, client.upstreamCallsInFlight());
+
+        // Completing one caller's future must not leak into the others
+        assertTrue(calls.get(0).complete("mine"));
+        release.countDown();
+
+        assertEquals("mine", calls.get(0).get(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            assertEquals("{\"roNumber\":\"73859\"}", calls.get(i).get(5, TimeUnit.SECONDS));
+            for (int j = 0; j < i; j++) {
+                assertNotSame("Each caller gets its own future", calls.get(j), calls.get(i));
+            }
+        }
+
+        System.out.println(CALLERS + " callers, upstream hits: " + hits.get());
+        assertEquals(1, hits.get());
+        assertEquals(0, client.upstreamCallsInFlight());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testDifferentCredentialsGetSeparateFlights() throws Exception {
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(client.callAsync(request(route("dealer/a"))));
+            calls.add(client.callAsync(request(route("dealer/b"))));
+        }
+        assertEquals(2, client.upstreamCallsInFlight());
+        release.countDown();
+
+        for (CompletableFuture<String> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(2, hits.get());
+        assertTrue(authorizations.contains("Bearer token-dealer/a"));
+        assertTrue(authorizations.contains("Bearer token-dealer/b"));
+    }
+
+    @Test
+    public void testForwardedHeadersKeepResponsesApart() throws Exception {
+        Route route = route("dealer/a", List.of("X-Tenant-Id"));
+        release.countDown();
+
+        CompletableFuture<String> tenantA = client.callAsync(request(route, Map.of("x-tenant-id", "a")));
+        CompletableFuture<String> tenantB = client.callAsync(request(route, Map.of("x-tenant-id", "b")));
+        assertEquals("{\"roNumber\":\"73859\",\"tenant\":\"a\"}", tenantA.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"roNumber\":\"73859\",\"tenant\":\"b\"}", tenantB.get(5, TimeUnit.SECONDS));
+
+        // Both responses are cached, each under its own tenant
+        assertEquals("{\"roNumber\":\"73859\",\"tenant\":\"b\"}",
+                client.callAsync(request(route, Map.of("x-tenant-id", "b"))).get(5, TimeUnit.SECONDS));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    public void testNonGetOnCatchAllNeverServedFromGet() throws Exception {
+        Route route = route("dealer/a", Route.ANY_METHOD, List.of());
+
+        CompletableFuture<String> get = client.callAsync(requestWithMethod(route, "GET"));
+        CompletableFuture<String> post = client.callAsync(requestWithMethod(route, "POST"));
+        assertEquals("Only the GET is open to other callers", 1, client.upstreamCallsInFlight());
+        release.countDown();
+        get.get(5, TimeUnit.SECONDS);
+        post.get(5, TimeUnit.SECONDS);
+        assertEquals("The POST must not join the in-flight GET", 2, hits.get());
+
+        // The GET response is cached, but a DELETE still goes upstream and is not stored
+        client.callAsync(requestWithMethod(route, "GET")).get(5, TimeUnit.SECONDS);
+        client.callAsync(requestWithMethod(route, "DELETE")).get(5, TimeUnit.SECONDS);
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    public void testRefreshTokenReplacesCachedToken() throws Exception {
+        Map<String, String> cachedTokens = new ConcurrentHashMap<>();
+        AtomicInteger fetches = new AtomicInteger();
+        ExternalApiClient refreshing = new ExternalApiClient(
+                secret -> CompletableFuture.completedFuture(
+                        cachedTokens.computeIfAbsent(secret, key -> "token-" + fetches.incrementAndGet())),
+                cachedTokens::remove, new ResponseCache(16, 0, Clock.systemUTC()));
+
+        assertEquals("token-1", refreshing.prefetchToken("dealer/a").get());
+        assertEquals("A valid token is kept", "token-1", refreshing.prefetchToken("dealer/a").get());
+        assertEquals("token-2", refreshing.refreshToken("dealer/a").get());
+        assertEquals(2, fetches.get());
+    }
+
+    private Route route(String tokenSecret) {
+        return route(tokenSecret, List.of());
+    }
+
+    private Route route(String tokenSecret, List<String> forwardHeaders) {
+        return route(tokenSecret, "GET", forwardHeaders);
+    }
+
+    private Route route(String tokenSecret, String method, List<String> forwardHeaders) {
+        return new Route("orders", method,
+                PathPattern.compile("/orders/{id}"),
+                UriTemplate.compile(baseUrl + "/orders/{id}"),
+                Map.of(), forwardHeaders, List.of(),
+                Duration.ofSeconds(5),
+                true, null, tokenSecret, false, JsonProjection.NONE);
+    }
+
+    private static UpstreamRequest request(Route route) {
+        return request(route, null);
+    }
+
+    private static UpstreamRequest requestWithMethod(Route route, String method) {
+        return new RouteMatch(route, Map.of("id", "73859"), method).toUpstreamRequest(null, null);
+    }
+
+    private static UpstreamRequest request(Route route, Map<String, String> headers) {
+        return new RouteMatch(route, Map.of("id", "73859")).toUpstreamRequest(null, headers);
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.service.routing;
+
+import com.project.service.exception.ExternalApiException;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests streaming field projection of upstream JSON documents
+ */
+public class JsonProjectionTest {
+
+    private static final String REPAIR_ORDER = """
+            {
+              "roNumber": "73859",
+              "status": "OPEN",
+              "customer": {"name": "Ada", "phone": "555-0100", "address": {"city": "Berlin"}},
+              "lines": [
+                {"description": "Oil change", "price": 89.5},
+                {"price": 12},
+                {"description": "Tyre rotation", "labor": {"hours": 1}}
+              ],
+              "audit": {"createdBy": "system"}
+            }
+            """;
+
+    @Test
+    public void testProjectsSelectedFields() {
+        System.out.println("\n=== Test: streaming JSON projection ===");
+        JsonProjection projection = JsonProjection.compile(
+                List.of("$.roNumber", "customer.name", "lines[*].description"));
+
+        String projected = projection.apply(REPAIR_ORDER);
+
+        System.out.println(REPAIR_ORDER.length() + " -> " + projected.length() + " characters: " + projected);
+        assertEquals("{\"roNumber\":\"73859\",\"customer\":{\"name\":\"Ada\"},"
+                + "\"lines\":[{\"description\":\"Oil change\"},{\"description\":\"Tyre rotation\"}]}", projected);
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testSelectedPropertyKeptWhole() {
+        assertEquals("{\"customer\":{\"name\":\"Ada\",\"phone\":\"555-0100\",\"address\":{\"city\":\"Berlin\"}}}",
+                JsonProjection.compile(List.of("customer.name", "customer")).apply(REPAIR_ORDER));
+    }
+
+    @Test
+    public void testWildcard() {
+        assertEquals("{\"customer\":{\"name\":\"Ada\"}}",
+                JsonProjection.compile(List.of("*.name")).apply(REPAIR_ORDER));
+    }
+
+    @Test
+    public void testWildcardMergedIntoNamedPaths() {
+        String order = "{\"id\":\"ro-1\",\"customer\":{\"id\":\"c-7\",\"name\":\"Ada\",\"phone\":\"555-0100\"},"
+                + "\"vehicle\":{\"id\":\"v-3\",\"vin\":\"WVW123\"}}";
+        String expected = "{\"customer\":{\"id\":\"c-7\",\"name\":\"Ada\"},\"vehicle\":{\"id\":\"v-3\"}}";
+
+        assertEquals(expected, JsonProjection.compile(List.of("customer.name", "*.id")).apply(order));
+        assertEquals(expected, JsonProjection.compile(List.of("*.id", "customer.name")).apply(order));
+        // A whole wildcard selection absorbs the named path
+        assertEquals(order, JsonProjection.compile(List.of("customer.name", "*")).apply(order));
+        // Nested wildcards merge at every level
+        assertEquals("{\"a\":{\"b\":{\"c\":1,\"d\":2,\"e\":3}}}",
+                JsonProjection.compile(List.of("a.b.c", "*.b.d", "a.*.e"))
+                        .apply("{\"a\":{\"b\":{\"c\":1,\"d\":2,\"e\":3,\"f\":4}}}"));
+    }
+
+    @Test
+    public void testNoMatchKeepsShape() {
+        JsonProjection projection = JsonProjection.compile(List.of("missing"));
+
+        assertEquals("{}", projection.apply(REPAIR_ORDER));
+        assertEquals("[]", projection.apply("[1, 2]"));
+        // A scalar where an object is expected does not match
+        assertEquals("{}", JsonProjection.compile(List.of("roNumber.value")).apply(REPAIR_ORDER));
+    }
+
+    @Test
+    public void testRootArray() {
+        String orders = "[" + REPAIR_ORDER + "," + REPAIR_ORDER + "]";
+
+        assertEquals("[{\"roNumber\":\"73859\"},{\"roNumber\":\"73859\"}]",
+                JsonProjection.compile(List.of("roNumber")).apply(orders));
+    }
+
+    @Test
+    public void testReaderMatchesString() throws Exception {
+        JsonProjection projection = JsonProjection.compile(List.of("lines.description"));
+        String large = "{\"lines\":[" + "{\"description\":\"Ölwechsel\",\"notes\":\"x\"},".repeat(5000) + "{}]}";
+
+        StringWriter out = new StringWriter();
+        projection.apply(new StringReader(large), out);
+
+        assertEquals(projection.apply(large), out.toString());
+        assertTrue(out.toString().length() < large.length());
+    }
+
+    @Test
+    public void testIdentity() {
+        assertSame(JsonProjection.NONE, JsonProjection.compile(null));
+        assertSame(JsonProjection.NONE, JsonProjection.compile(List.of()));
+        assertSame(REPAIR_ORDER, JsonProjection.NONE.apply(REPAIR_ORDER));
+    }
+
+    @Test(expected = ExternalApiException.class)
+    public void testInvalidUpstreamJsonRejected() {
+        JsonProjection.compile(List.of("roNumber")).apply("<html>Bad gateway</html>");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndexSelectorUnsupported() {
+        JsonProjection.compile(List.of("lines[0].description"));
+    }
+}
@@ -0,0 +1,230 @@
+package com.project.service.routing;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests route matching, URI template expansion and per-route request policy
+ */
+public class RouteTableTest {
+
+    private static final String ROUTES = """
+            [
+              {
+                "name": "repairOrder",
+                "path": "/repairorder/{roNum}",
+                "upstream": "${BASE_URL}/v2/repairorder/roNum/{roNum}",
+                "headers": {"x-dealer-code": "Z3DT01"},
+                "forwardHeaders": ["Accept-Language"],
+                "forwardQuery": ["view"],
+                "timeoutSeconds": 5,
+                "cacheTtlSeconds": 60
+              },
+              {
+                "name": "summary",
+                "path": "/summary/{roNum}",
+                "upstream": "${BASE_URL}/v2/repairorder/roNum/{roNum}",
+                "fields": ["roNumber", "lines[*].description"]
+              },
+              {
+                "name": "unconfigured",
+                "path": "/other",
+                "upstream": "${MISSING_URL}/other"
+              },
+              {
+                "name": "default",
+                "path": "/{proxy+}",
+                "upstream": "${BASE_URL}/fixed",
+                "cache": false
+              }
+            ]
+            """;
+
+    private final RouteTable table = testRoutes();
+
+    /**
+     * The route table above, shared with tests of code that consumes routes.
+     */
+    public static RouteTable testRoutes() {
+        return RouteTable.parse(ROUTES, Map.of("BASE_URL", "https://upstream.example.com")::get);
+    }
+
+    @Test
+    public void testRouteWithUnsetVariableSkipped() {
+        assertEquals(3, table.routes().size());
+        assertEquals("default", table.match("GET", "/other").route().name());
+    }
+
+    @Test
+    public void testPathParameterExpandedIntoUpstreamUrl() {
+        System.out.println("\n=== Test: parameterized upstream route ===");
+        RouteMatch match = table.match("GET", "/repairorder/73859");
+
+        assertEquals("repairOrder", match.route().name());
+        assertEquals("73859", match.pathParameters().get("roNum"));
+        assertTrue(match.route().projection().isIdentity());
+
+        HttpRequest request = match.toUpstreamRequest(
+                Map.of("view", "summary", "ignored", "x"),
+                Map.of("accept-language", "de-DE", "Cookie", "secret")).request();
+
+        System.out.println("Upstream: " + request.uri());
+        assertEquals("https://upstream.example.com/v2/repairorder/roNum/73859?view=summary", request.uri().toString());
+        assertEquals("Z3DT01", request.headers().firstValue("x-dealer-code").orElse(null));
+        assertEquals("de-DE", request.headers().firstValue("Accept-Language").orElse(null));
+        assertFalse("Only listed headers are forwarded", request.headers().firstValue("Cookie").isPresent());
+        assertEquals(Duration.ofSeconds(5), request.timeout().orElse(null));
+        assertEquals(Long.valueOf(60), match.route().cacheTtlSeconds());
+        assertTrue(match.route().cacheable());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testProjectionConfigured() {
+        RouteMatch match = table.match("GET", "/summary/73859");
+
+        assertEquals("summary", match.route().name());
+        assertEquals(List.of("roNumber", "lines[*].description"), match.route().projection().paths());
+        assertEquals("{\"roNumber\":\"73859\"}",
+                match.route().projection().apply("{\"roNumber\":\"73859\",\"status\":\"OPEN\"}"));
+    }
+
+    @Test
+    public void testCatchAllRoute() {
+        RouteMatch match = table.match("GET", "/api/test");
+        assertEquals("default", match.route().name());
+        assertEquals("api/test", match.pathParameters().get("proxy"));
+        assertFalse(match.route().cacheable());
+        assertTrue(match.route().projection().isIdentity());
+        assertEquals("https://upstream.example.com/fixed", match.toUpstreamRequest(null, null).request().uri().toString());
+
+        assertEquals("default", table.match("GET", "/").route().name());
+        assertEquals("default", table.match("GET", "/repairorder/1/lines").route().name());
+    }
+
+    @Test
+    public void testMethodMustMatch() {
+        assertNull(table.match("POST", "/repairorder/1"));
+        assertNull(table.match(null, "/repairorder/1"));
+        assertNull(table.match("GET", null));
+    }
+
+    @Test
+    public void testPathPattern() {
+        PathPattern pattern = PathPattern.compile("/repairorder/{roNum}/lines/{line}");
+        Map<String, String> parameters = new HashMap<>();
+
+        assertTrue(pattern.matches("/repairorder/42/lines/7/", parameters));
+        assertEquals("42", parameters.get("roNum"));
+        assertEquals("7", parameters.get("line"));
+
+        assertFalse(pattern.matches("/repairorder/42/lines", new HashMap<>()));
+        assertFalse(pattern.matches("/repairorder//lines/7", new HashMap<>()));
+        assertFalse(pattern.matches("/repairorders/42/lines/7", new HashMap<>()));
+
+        try {
+            PathPattern.compile("/{rest+}/tail");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUriTemplateEncodesValues() {
+        UriTemplate template = UriTemplate.compile("https://upstream.example.com/orders/{id}?q={query}");
+
+        assertEquals(List.of("id", "query"), template.variables());
+        assertEquals("https://upstream.example.com/orders/A-1?q=a%20b%2Fc%C3%A9",
+                template.expand(Map.of("id", "A-1", "query", "a b/cé")));
+
+        try {
+            template.expand(Map.of("id", "1"));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("query"));
+        }
+    }
+
+    @Test
+    public void testDotSegmentsRejected() {
+        System.out.println("\n=== Test: dot segments never reach the upstream path ===");
+        RouteMatch match = table.match("GET", "/repairorder/..");
+        assertEquals("..", match.pathParameters().get("roNum"));
+
+        for (String value : List.of(".", "..")) {
+            try {
+                new RouteMatch(match.route(), Map.of("roNum", value)).toUpstreamRequest(null, null);
+                fail("Expected IllegalArgumentException for " + value);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Rejected: " + e.getMessage());
+                assertTrue(e.getMessage().contains("roNum"));
+            }
+        }
+
+        UriTemplate template = UriTemplate.compile("https://upstream.example.com/files/{path+}?q={query}");
+        try {
+            template.expand(Map.of("path", "a/../b", "query", "x"));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+
+        // Dots inside a segment and dot values in the query are harmless
+        assertEquals("https://upstream.example.com/files/a..b/v1.2?q=..",
+                template.expand(Map.of("path", "a..b/v1.2", "query", "..")));
+        assertEquals("https://upstream.example.com/v2/repairorder/roNum/..%2Fadmin",
+                new RouteMatch(match.route(), Map.of("roNum", "../admin")).toUpstreamRequest(null, null)
+                        .request().uri().toString());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testGreedyPlaceholderKeepsSlashes() {
+        UriTemplate template = UriTemplate.compile("https://upstream.example.com/v2/{rest+}");
+
+        assertEquals(List.of("rest"), template.variables());
+        assertEquals("https://upstream.example.com/v2/repairorder/73859/lines%20all",
+                template.expand(Map.of("rest", "repairorder/73859/lines all")));
+        assertEquals("https://upstream.example.com/v2/", template.expand(Map.of("rest", "")));
+    }
+
+    @Test
+    public void testBundledRoutesParse() {
+        String bundled = new String(readBundledRoutes(), StandardCharsets.UTF_8);
+        RouteTable defaults = RouteTable.parse(bundled, Map.of(
+                "EXTERNAL_API_URL", "https://upstream.example.com/v2/repairorder/mix-mockservice/roNum/73859",
+                "EXTERNAL_API_BASE_URL", "https://upstream.example.com")::get);
+
+        assertEquals("repairOrder", defaults.match("GET", "/repairorder/73859").route().name());
+        assertEquals("default", defaults.match("GET", "/api/test").route().name());
+
+        // The catch-all accepts every method, like the handler did before routing, and calls upstream with GET
+        RouteMatch post = defaults.match("POST", "/api/test");
+        assertEquals("default", post.route().name());
+        assertEquals("GET", post.toUpstreamRequest(null, null).request().method());
+        assertFalse("A POST sent as GET must bypass the cache", post.toUpstreamRequest(null, null).shareable());
+        assertTrue(defaults.match("GET", "/api/test").toUpstreamRequest(null, null).shareable());
+        assertTrue(defaults.match("HEAD", "/api/test").toUpstreamRequest(null, null).shareable());
+        assertEquals("default", defaults.match("POST", "/repairorder/73859").route().name());
+    }
+
+    private static byte[] readBundledRoutes() {
+        try (InputStream in = RouteTable.class.getResourceAsStream(RouteTable.ROUTES_RESOURCE)) {
+            assertNotNull("routes.json must be on the classpath", in);
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
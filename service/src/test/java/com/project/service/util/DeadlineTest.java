@@ -0,0 +1,103 @@
+package com.project.service.util;
+
+import com.project.service.exception.DeadlineExceededException;
+import org.junit.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests timeout capping and future bounding by an invocation deadline
+ */
+public class DeadlineTest {
+
+    @Test
+    public void testBoundFailsFastOnceBudgetSpent() throws Exception {
+        System.out.println("\n=== Test: deadline bounds a slow upstream call ===");
+        Deadline deadline = Deadline.after(Duration.ofMillis(100));
+        CompletableFuture<String> slow = new CompletableFuture<>();
+
+        long start = System.nanoTime();
+        CompletableFuture<String> bounded = deadline.bound(() -> slow);
+        Throwable error = failure(bounded);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println("Gave up after " + elapsedMillis + " ms");
+        assertTrue(error instanceof DeadlineExceededException);
+        assertTrue(elapsedMillis < 1000);
+        // The shared call is left running for anyone else waiting on it
+        assertFalse(slow.isDone());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testExpiredDeadlineDoesNotStartCall() throws Exception {
+        Deadline deadline = Deadline.after(Duration.ofMillis(-1));
+        AtomicBoolean started = new AtomicBoolean();
+
+        Throwable error = failure(deadline.bound(() -> {
+            started.set(true);
+            return CompletableFuture.completedFuture("late");
+        }));
+
+        assertTrue(deadline.isExpired());
+        assertTrue(error instanceof DeadlineExceededException);
+        assertFalse(started.get());
+    }
+
+    @Test
+    public void testResultAndErrorsPassThrough() throws Exception {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        assertEquals("ok", deadline.bound(() -> CompletableFuture.completedFuture("ok")).get(1, TimeUnit.SECONDS));
+
+        IllegalStateException failure = new IllegalStateException("boom");
+        assertSame(failure, failure(deadline.bound(() -> CompletableFuture.failedFuture(failure))));
+
+        // A route timeout that fired while time was left is not the deadline's doing
+        HttpTimeoutException routeTimeout = new HttpTimeoutException("request timed out");
+        assertSame(routeTimeout, failure(deadline.bound(() -> CompletableFuture.failedFuture(routeTimeout))));
+    }
+
+    @Test
+    public void testCapTimeout() {
+        Duration routeTimeout = Duration.ofSeconds(30);
+
+        assertEquals(routeTimeout, Deadline.NONE.cap(routeTimeout));
+        assertEquals(routeTimeout, Deadline.after(Duration.ofMinutes(5)).cap(routeTimeout));
+
+        Duration capped = Deadline.after(Duration.ofSeconds(2)).cap(routeTimeout);
+        assertTrue(capped.compareTo(Duration.ofSeconds(2)) <= 0);
+        assertTrue(capped.compareTo(Duration.ZERO) > 0);
+
+        try {
+            Deadline.after(Duration.ZERO).cap(routeTimeout);
+            fail("Expected DeadlineExceededException");
+        } catch (DeadlineExceededException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testNoDeadline() {
+        assertFalse(Deadline.NONE.isExpired());
+        CompletableFuture<String> call = new CompletableFuture<>();
+        assertSame(call, Deadline.NONE.bound(() -> call));
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected the future to fail");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.service.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the API Gateway proxy envelope written by ProxyResponseWriter
+ */
+public class ProxyResponseWriterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<String, String> HEADERS = Map.of("Content-Type", "application/json");
+
+    @Test
+    public void testStreamingBodyRoundTrip() throws Exception {
+        System.out.println("\n=== Test: streamed proxy response body ===");
+        // Larger than the generator's buffer, with characters that need escaping
+        String body = "{\"lines\":[" + "{\"text\":\"Ölwechsel \\\"5W-30\\\" ✓\"},".repeat(5000) + "{}]}";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream upstream = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+        ProxyResponseWriter.writeStreaming(out, 200, HEADERS, upstream, StandardCharsets.UTF_8);
+
+        JsonNode envelope = MAPPER.readTree(out.toByteArray());
+        assertEquals(200, envelope.get("statusCode").asInt());
+        assertEquals("application/json", envelope.get("headers").get("Content-Type").asText());
+        assertFalse(envelope.get("isBase64Encoded").asBoolean());
+        assertEquals(body, envelope.get("body").asText());
+
+        System.out.println("Envelope size: " + out.size() + " bytes for a " + body.length() + " character body");
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testBinaryBodyBase64Encoded() throws Exception {
+        byte[] body = new byte[20_000];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) (i * 31);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProxyResponseWriter.writeBinary(out, 200, Map.of("Content-Encoding", "gzip"), new ByteArrayInputStream(body));
+
+        JsonNode envelope = MAPPER.readTree(out.toByteArray());
+        assertTrue(envelope.get("isBase64Encoded").asBoolean());
+        assertEquals("gzip", envelope.get("headers").get("Content-Encoding").asText());
+        assertArrayEquals(body, Base64.getDecoder().decode(envelope.get("body").asText()));
+    }
+
+    @Test
+    public void testBufferedBody() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProxyResponseWriter.write(out, 404, HEADERS, "{\"error\": \"No route\"}");
+
+        JsonNode envelope = MAPPER.readTree(out.toByteArray());
+        assertEquals(404, envelope.get("statusCode").asInt());
+        assertEquals("{\"error\": \"No route\"}", envelope.get("body").asText());
+    }
+
+    @Test
+    public void testOutputStreamLeftOpen() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                fail("The Lambda runtime owns the output stream");
+            }
+        };
+        ProxyResponseWriter.write(out, 200, HEADERS, "{}");
+        assertTrue(out.size() > 0);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 
 @Slf4j
 public class TaskData {
@@ -63,6 +64,18 @@ public class TaskData {
         log.debug("Saved task: id={}, name={}", task.getId(), task.getName());
     }
 
+    /**
+     * Atomically replaces the stored task with {@code patch.apply(current)}.
+     * Returns the new task, or {@code null} if no task with that id exists.
+     */
+    public static Task patchTask(String id, UnaryOperator<Task> patch) {
+        Task patched = TASK_STORE.computeIfPresent(id, (key, current) -> patch.apply(current));
+        if (patched != null) {
+            log.debug("Patched task: id={}, name={}", id, patched.getName());
+        }
+        return patched;
+    }
+
     public static Task deleteTask(String id) {
         Task removedTask = TASK_STORE.remove(id);
         if (removedTask != null) {
@@ -0,0 +1,46 @@
+package com.project.task.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.project.task.router.UnifiedEventRouter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import software.amazon.lambda.powertools.logging.Logging;
+
+import java.util.UUID;
+
+/**
+ * Entry point for deployments fronted only by API Gateway.
+ * The runtime deserializes the typed event, so no invocation type detection is needed.
+ */
+public class ApiGatewayTaskHandler implements RequestHandler<APIGatewayProxyRequestEvent, APIGatewayProxyResponseEvent> {
+
+    private static final Logger log = LogManager.getLogger(ApiGatewayTaskHandler.class);
+    private static final UnifiedEventRouter ROUTER = new UnifiedEventRouter();
+
+    @Override
+    @Logging(logEvent = true)
+    public APIGatewayProxyResponseEvent handleRequest(APIGatewayProxyRequestEvent event, Context context) {
+        String requestId = context != null ? context.getAwsRequestId() : UUID.randomUUID().toString();
+        ThreadContext.put("requestId", requestId);
+        ThreadContext.put("service", "TaskService");
+
+        try {
+            log.info("Lambda invoked (API Gateway): functionName={}, requestId={}",
+                    context != null ? context.getFunctionName() : "unknown", requestId);
+
+            if (event == null) {
+                throw new IllegalArgumentException("Input event cannot be null");
+            }
+
+            return ROUTER.handleApiGateway(event, context);
+
+        } finally {
+            ThreadContext.clearAll();
+        }
+    }
+
+}
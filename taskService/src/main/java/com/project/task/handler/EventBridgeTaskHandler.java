@@ -0,0 +1,48 @@
+package com.project.task.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import com.project.task.router.UnifiedEventRouter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import software.amazon.lambda.powertools.logging.Logging;
+
+import java.util.UUID;
+
+/**
+ * Entry point for deployments triggered only by EventBridge rules.
+ * Failures are rethrown so EventBridge can apply its retry policy and DLQ.
+ */
+public class EventBridgeTaskHandler implements RequestHandler<ScheduledEvent, String> {
+
+    private static final Logger log = LogManager.getLogger(EventBridgeTaskHandler.class);
+    private static final UnifiedEventRouter ROUTER = new UnifiedEventRouter();
+
+    @Override
+    @Logging(logEvent = true)
+    public String handleRequest(ScheduledEvent event, Context context) {
+        String requestId = context != null ? context.getAwsRequestId() : UUID.randomUUID().toString();
+        ThreadContext.put("requestId", requestId);
+        ThreadContext.put("service", "TaskService");
+
+        try {
+            log.info("Lambda invoked (EventBridge): functionName={}, requestId={}",
+                    context != null ? context.getFunctionName() : "unknown", requestId);
+
+            if (event == null || event.getSource() == null || event.getDetailType() == null) {
+                throw new IllegalArgumentException("EventBridge event missing source or detail-type");
+            }
+
+            return ROUTER.handleEventBridge(event, context);
+
+        } catch (Exception e) {
+            log.error("EventBridge event failed: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            ThreadContext.clearAll();
+        }
+    }
+
+}
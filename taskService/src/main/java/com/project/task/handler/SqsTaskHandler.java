@@ -0,0 +1,50 @@
+package com.project.task.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.project.task.router.UnifiedEventRouter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import software.amazon.lambda.powertools.logging.Logging;
+
+import java.util.UUID;
+
+/**
+ * Entry point for deployments triggered only by an SQS event source mapping.
+ * Per-message failures are reported through {@link SQSBatchResponse}; anything else is rethrown
+ * so the whole batch is retried by SQS.
+ */
+public class SqsTaskHandler implements RequestHandler<SQSEvent, SQSBatchResponse> {
+
+    private static final Logger log = LogManager.getLogger(SqsTaskHandler.class);
+    private static final UnifiedEventRouter ROUTER = new UnifiedEventRouter();
+
+    @Override
+    @Logging(logEvent = true)
+    public SQSBatchResponse handleRequest(SQSEvent event, Context context) {
+        String requestId = context != null ? context.getAwsRequestId() : UUID.randomUUID().toString();
+        ThreadContext.put("requestId", requestId);
+        ThreadContext.put("service", "TaskService");
+
+        try {
+            log.info("Lambda invoked (SQS): functionName={}, requestId={}",
+                    context != null ? context.getFunctionName() : "unknown", requestId);
+
+            if (event == null) {
+                throw new IllegalArgumentException("Input event cannot be null");
+            }
+
+            return ROUTER.handleSqs(event, context);
+
+        } catch (Exception e) {
+            log.error("SQS batch failed: {}", e.getMessage(), e);
+            throw e;
+        } finally {
+            ThreadContext.clearAll();
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package com.project.task.handler;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
 import com.project.task.router.UnifiedEventRouter;
+import com.project.task.util.EventCapture;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
@@ -14,6 +15,7 @@ public class UnifiedTaskHandler implements RequestHandler<Object, Object> {
 
     private static final Logger log = LogManager.getLogger(UnifiedTaskHandler.class);
     private static final UnifiedEventRouter ROUTER = new UnifiedEventRouter();
+    private static final EventCapture CAPTURE = EventCapture.fromEnvironment();
 
     @Override
     @Logging(logEvent = true)
@@ -28,6 +30,10 @@ public class UnifiedTaskHandler implements RequestHandler<Object, Object> {
                     requestId,
                     context != null ? context.getRemainingTimeInMillis() : 0);
 
+            if (CAPTURE != null) {
+                CAPTURE.capture(input);
+            }
+
             // Log input event details for debugging
             if (input != null) {
                 log.info("Input event type: {}", input.getClass().getName());
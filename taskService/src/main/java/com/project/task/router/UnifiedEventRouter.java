@@ -38,14 +38,14 @@ public class UnifiedEventRouter {
         };
     }
 
-    private APIGatewayProxyResponseEvent handleApiGateway(APIGatewayProxyRequestEvent event, Context context) {
+    public APIGatewayProxyResponseEvent handleApiGateway(APIGatewayProxyRequestEvent event, Context context) {
         log.info("Handling API Gateway request: method={}, path={}",
                 event.getHttpMethod(), event.getPath());
 
         return API_ROUTER.route(event, context);
     }
 
-    private SQSBatchResponse handleSqs(SQSEvent event, Context context) {
+    public SQSBatchResponse handleSqs(SQSEvent event, Context context) {
         if (event.getRecords() == null) {
             log.error("SQS Event has null Records. This should not happen.");
             throw new IllegalArgumentException("Invalid SQS Event: Records field is null");
@@ -57,7 +57,7 @@ public class UnifiedEventRouter {
         return SQS_SERVICE.processSQSMessages(event, context);
     }
 
-    private String handleEventBridge(ScheduledEvent event, Context context) {
+    public String handleEventBridge(ScheduledEvent event, Context context) {
         log.info("Handling EventBridge Scheduled Event: source={}, detailType={}",
                 event.getSource(), event.getDetailType());
         EventbridgeInvocationType type = EventbridgeInvocationTypeDetector.detectEventBridgeType(event.getSource(), event.getDetailType());
@@ -3,10 +3,16 @@ package com.project.task.service;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.project.task.data.TaskData;
 import com.project.task.mapper.TaskMapper;
 import com.project.task.model.Task;
 import com.project.task.model.dto.TaskRequestDTO;
+import com.project.task.util.RequestHeaders;
+import com.project.task.util.TaskFieldProjection;
+import com.project.task.util.TaskMergePatch;
+import com.project.task.validation.TaskRequestValidator;
+import com.project.task.validation.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
@@ -20,7 +26,7 @@ public class ApiGatewayTaskService {
     private static final java.util.Map<String, String> DEFAULT_HEADERS = java.util.Collections.unmodifiableMap(new java.util.HashMap<>() {{
         put("Content-Type", "application/json");
         put("Access-Control-Allow-Origin", "*");
-        put("Access-Control-Allow-Methods", "GET,POST,PUT,DELETE,OPTIONS");
+        put("Access-Control-Allow-Methods", "GET,POST,PUT,PATCH,DELETE,OPTIONS");
         put("Access-Control-Allow-Headers", "Content-Type,Authorization");
     }});
 
@@ -31,11 +37,15 @@ public class ApiGatewayTaskService {
     }
 
     private APIGatewayProxyResponseEvent buildApiResponseWithData(int statusCode, Map<String, Object> data) {
+        return buildApiResponseWithData(statusCode, data, null);
+    }
+
+    private APIGatewayProxyResponseEvent buildApiResponseWithData(int statusCode, Map<String, Object> data, ObjectWriter writer) {
         try {
             APIGatewayProxyResponseEvent response = new APIGatewayProxyResponseEvent();
             response.setStatusCode(statusCode);
             response.setHeaders(DEFAULT_HEADERS);
-            response.setBody(com.project.task.util.JsonUtil.toJson(data));
+            response.setBody(com.project.task.util.JsonUtil.toJson(data, writer));
             return response;
         } catch (Exception e) {
             log.error("Error building API response: {}", e.getMessage(), e);
@@ -67,13 +77,20 @@ public class ApiGatewayTaskService {
 
         log.info("Processing GET /task - retrieve all tasks");
 
+        ObjectWriter writer;
+        try {
+            writer = TaskFieldProjection.writerFor(getQueryParameter(event, "fields"));
+        } catch (IllegalArgumentException e) {
+            return buildErrorResponse(400, e.getMessage());
+        }
+
         List<Task> tasks = TaskData.getAllTasks();
         log.info("Retrieved {} tasks from store", tasks.size());
 
         Map<String, Object> response = buildStandardResponse(context, "success", "GET /task successfully invoked");
         response.put("count", tasks.size());
         response.put("data", tasks);
-        return buildApiResponseWithData(200, response);
+        return buildApiResponseWithData(200, response, writer);
     }
 
     public APIGatewayProxyResponseEvent processGetTaskById(
@@ -89,6 +106,13 @@ public class ApiGatewayTaskService {
             return buildErrorResponse(400, "Task ID is required");
         }
 
+        ObjectWriter writer;
+        try {
+            writer = TaskFieldProjection.writerFor(getQueryParameter(event, "fields"));
+        } catch (IllegalArgumentException e) {
+            return buildErrorResponse(400, e.getMessage());
+        }
+
         Task task = TaskData.getTaskById(id);
 
         if (task == null) {
@@ -100,7 +124,7 @@ public class ApiGatewayTaskService {
 
         Map<String, Object> response = buildStandardResponse(context, "success", "GET /task/" + id + " successfully invoked");
         response.put("data", task);
-        return buildApiResponseWithData(200, response);
+        return buildApiResponseWithData(200, response, writer);
     }
 
     public APIGatewayProxyResponseEvent processCreateTask(
@@ -119,6 +143,12 @@ public class ApiGatewayTaskService {
         try {
             TaskRequestDTO requestDTO = com.project.task.util.JsonUtil.getMapper().readValue(requestBody, TaskRequestDTO.class);
 
+            ValidationResult validation = TaskRequestValidator.validateForCreate(requestDTO);
+            if (!validation.isValid()) {
+                log.warn("Create task request rejected: {}", validation.errorMessage());
+                return buildErrorResponse(400, validation.errorMessage());
+            }
+
             Task newTask = TASK_MAPPER.toEntity(requestDTO);
             TaskData.saveTask(newTask);
 
@@ -162,6 +192,12 @@ public class ApiGatewayTaskService {
             Task existingTask = TaskData.getTaskById(id);
             TaskRequestDTO updateDTO = com.project.task.util.JsonUtil.getMapper().readValue(requestBody, TaskRequestDTO.class);
 
+            ValidationResult validation = TaskRequestValidator.validateForUpdate(updateDTO);
+            if (!validation.isValid()) {
+                log.warn("Update task request rejected: {}", validation.errorMessage());
+                return buildErrorResponse(400, validation.errorMessage());
+            }
+
             TASK_MAPPER.updateEntityFromDto(updateDTO, existingTask);
             existingTask.setUpdatedAt(System.currentTimeMillis());
 
@@ -182,6 +218,54 @@ public class ApiGatewayTaskService {
         }
     }
 
+    public APIGatewayProxyResponseEvent processPatchTask(
+            APIGatewayProxyRequestEvent event,
+            Context context) {
+
+        Map<String, String> pathParams = event.getPathParameters();
+        String id = pathParams != null ? pathParams.get("id") : null;
+
+        log.info("Processing PATCH /task/{{id}} - merge patch task: {}", id);
+
+        if (id == null || id.isEmpty()) {
+            return buildErrorResponse(400, "Task ID is required");
+        }
+
+        String contentType = RequestHeaders.get(event, "Content-Type");
+        if (contentType == null || !contentType.toLowerCase().startsWith(TaskMergePatch.CONTENT_TYPE)) {
+            return buildErrorResponse(415, "Content-Type must be " + TaskMergePatch.CONTENT_TYPE);
+        }
+
+        String requestBody = event.getBody();
+        if (requestBody == null || requestBody.isEmpty()) {
+            return buildErrorResponse(400, "Request body is required");
+        }
+
+        log.debug("Merge patch payload: {}", requestBody);
+
+        TaskMergePatch patch;
+        try {
+            patch = TaskMergePatch.parse(requestBody);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid merge patch: {}", e.getMessage());
+            return buildErrorResponse(400, "Invalid merge patch: " + e.getMessage());
+        } catch (Exception e) {
+            log.error("JSON parsing error: {}", e.getMessage());
+            return buildErrorResponse(400, "Invalid JSON: " + e.getMessage());
+        }
+
+        Task patchedTask = TaskData.patchTask(id, patch::applyTo);
+        if (patchedTask == null) {
+            return buildErrorResponse(404, "Task not found: " + id);
+        }
+
+        log.info("Patched task: {}", patchedTask.getName());
+
+        Map<String, Object> response = buildStandardResponse(context, "success", "PATCH /task/" + id + " successfully invoked");
+        response.put("data", patchedTask);
+        return buildApiResponseWithData(200, response);
+    }
+
     public APIGatewayProxyResponseEvent processDeleteTask(
             APIGatewayProxyRequestEvent event,
             Context context) {
@@ -209,6 +293,11 @@ public class ApiGatewayTaskService {
         return buildApiResponseWithData(200, response);
     }
 
+    private String getQueryParameter(APIGatewayProxyRequestEvent event, String name) {
+        Map<String, String> queryParams = event.getQueryStringParameters();
+        return queryParams != null ? queryParams.get(name) : null;
+    }
+
     private Map<String, Object> buildStandardResponse(Context context, String status, String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("service", "task-service");
@@ -3,6 +3,7 @@ package com.project.task.service;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.project.task.util.ResponseCompressor;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -17,7 +18,7 @@ public class ApiGatewayTaskServiceHandler {
     private static final java.util.Map<String, String> DEFAULT_HEADERS = java.util.Collections.unmodifiableMap(new java.util.HashMap<>() {{
         put("Content-Type", "application/json");
         put("Access-Control-Allow-Origin", "*");
-        put("Access-Control-Allow-Methods", "GET,POST,PUT,DELETE,OPTIONS");
+        put("Access-Control-Allow-Methods", "GET,POST,PUT,PATCH,DELETE,OPTIONS");
         put("Access-Control-Allow-Headers", "Content-Type,Authorization");
     }});
 
@@ -36,7 +37,7 @@ public class ApiGatewayTaskServiceHandler {
 
         try {
             // Route based on path and method
-            return switch (path) {
+            APIGatewayProxyResponseEvent response = switch (path) {
                 case "/ping" -> handlePing(event, context);
                 case "/task" -> handleTaskCollection(event, context);
                 default -> {
@@ -48,6 +49,8 @@ public class ApiGatewayTaskServiceHandler {
                 }
             };
 
+            return ResponseCompressor.compress(event, response);
+
         } catch (Exception e) {
             log.error("Error routing API request: {}", e.getMessage(), e);
             return buildErrorResponse(500, "Internal server error");
@@ -101,8 +104,14 @@ public class ApiGatewayTaskServiceHandler {
                 }
                 yield taskService.processUpdateTask(event, context);
             }
+            case "PATCH" -> {
+                if (event.getBody() == null || event.getBody().isEmpty()) {
+                    yield buildErrorResponse(400, "Request body is required");
+                }
+                yield taskService.processPatchTask(event, context);
+            }
             case "DELETE" -> taskService.processDeleteTask(event, context);
-            default -> buildErrorResponse(405, "Method not allowed. Use GET, PUT, or DELETE.");
+            default -> buildErrorResponse(405, "Method not allowed. Use GET, PUT, PATCH, or DELETE.");
         };
     }
 
@@ -119,6 +128,7 @@ public class ApiGatewayTaskServiceHandler {
                 "POST /task - Create new task",
                 "GET /task/{id} - Get task by ID",
                 "PUT /task/{id} - Update task",
+                "PATCH /task/{id} - Merge patch task (application/merge-patch+json)",
                 "DELETE /task/{id} - Delete task"
         });
 
@@ -7,6 +7,8 @@ import com.project.task.data.TaskData;
 import com.project.task.mapper.TaskMapper;
 import com.project.task.model.Task;
 import com.project.task.model.dto.TaskRequestDTO;
+import com.project.task.validation.TaskRequestValidator;
+import com.project.task.validation.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
@@ -61,10 +63,11 @@ public class EventBridgeTaskService {
 
             TaskRequestDTO taskRequest = OBJECT_MAPPER.convertValue(detail, TaskRequestDTO.class);
 
-            if (taskRequest.getName() == null || taskRequest.getName().trim().isEmpty()) {
-                String errorMsg = "Custom event detail missing required 'name' field";
-                log.error("Validation failed: {}", errorMsg);
-                throw new IllegalArgumentException(errorMsg);
+            ValidationResult validation = TaskRequestValidator.validateForCreate(taskRequest);
+            if (!validation.isValid()) {
+                // Redelivering an invalid event cannot make it valid, so reject it without triggering a retry
+                log.warn("Custom event rejected: id={}, errors={}", event.getId(), validation.errorMessage());
+                return "INVALID";
             }
 
             Task task = TASK_MAPPER.toEntity(taskRequest);
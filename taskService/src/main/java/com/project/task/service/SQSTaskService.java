@@ -8,6 +8,8 @@ import com.project.task.data.TaskData;
 import com.project.task.mapper.TaskMapper;
 import com.project.task.model.Task;
 import com.project.task.model.dto.TaskRequestDTO;
+import com.project.task.validation.TaskRequestValidator;
+import com.project.task.validation.ValidationResult;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
@@ -35,10 +37,16 @@ public class SQSTaskService {
             try {
                 log.debug("Processing message: messageId={}", messageId);
 
-                processMessage(message);
+                ValidationResult result = processMessage(message);
 
-                successCount++;
-                log.info("Message processed successfully: messageId={}", messageId);
+                if (result.isValid()) {
+                    successCount++;
+                    log.info("Message processed successfully: messageId={}", messageId);
+                } else {
+                    failureCount++;
+                    log.warn("Message rejected: messageId={}, errors={}", messageId, result.errorMessage());
+                    failures.add(new SQSBatchResponse.BatchItemFailure(messageId));
+                }
 
             } catch (Exception e) {
                 failureCount++;
@@ -57,7 +65,7 @@ public class SQSTaskService {
         return new SQSBatchResponse(failures);
     }
 
-    private void processMessage(SQSEvent.SQSMessage message) {
+    private ValidationResult processMessage(SQSEvent.SQSMessage message) {
         String messageId = message.getMessageId();
         String messageBody = message.getBody();
 
@@ -65,7 +73,7 @@ public class SQSTaskService {
         log.debug("Message body: {}", messageBody);
 
         if (messageBody == null || messageBody.trim().isEmpty()) {
-            throw new IllegalArgumentException("Message body is empty");
+            return ValidationResult.invalid("Message body is empty");
         }
 
         TaskRequestDTO taskRequest;
@@ -73,16 +81,17 @@ public class SQSTaskService {
             taskRequest = OBJECT_MAPPER.readValue(messageBody, TaskRequestDTO.class);
             log.debug("Parsed TaskRequestDTO: name={}", taskRequest.getName());
         } catch (Exception e) {
-            log.error("Failed to parse TaskRequestDTO: {}", e.getMessage());
-            throw new IllegalArgumentException("Invalid JSON format in message body: " + e.getMessage(), e);
+            return ValidationResult.invalid("Invalid JSON format in message body: " + e.getMessage());
         }
 
-        if (taskRequest.getName() == null || taskRequest.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Task name is required");
+        ValidationResult validation = TaskRequestValidator.validateForCreate(taskRequest);
+        if (!validation.isValid()) {
+            return validation;
         }
 
         Task task = TASK_MAPPER.toEntity(taskRequest);
         processCreateTask(task, messageId);
+        return validation;
     }
 
     private void processCreateTask(Task task, String messageId) {
@@ -0,0 +1,181 @@
+package com.project.task.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in sampling of raw input events to NDJSON, for feeding the replay harness with production traffic.
+ * <p>
+ * {@link #capture(Object)} only samples and offers the event to a bounded queue; redaction, serialization
+ * and I/O happen on a daemon writer thread. When the queue is full the event is dropped and counted, so
+ * capture never blocks the request path.
+ * <p>
+ * Configuration (environment variables):
+ * <ul>
+ *   <li>{@code EVENT_CAPTURE_SAMPLE_RATE} - fraction of events to capture, {@code 0} (default) disables capture</li>
+ *   <li>{@code EVENT_CAPTURE_TARGET} - {@code stdout} or a file path, default {@code /tmp/captured-events.ndjson}</li>
+ *   <li>{@code EVENT_CAPTURE_BUFFER_SIZE} - queue capacity, default {@code 1000}</li>
+ *   <li>{@code EVENT_CAPTURE_REDACT} - comma-separated field paths, see {@link EventRedactor}</li>
+ * </ul>
+ * On stdout each event is wrapped as {@code {"capturedEvent": ...}} so it can be told apart from log lines.
+ */
+public final class EventCapture {
+
+    private static final Logger log = LogManager.getLogger(EventCapture.class);
+
+    public static final String STDOUT = "stdout";
+    public static final String STDOUT_WRAPPER_KEY = "capturedEvent";
+
+    static final String DEFAULT_TARGET = "/tmp/captured-events.ndjson";
+    static final String DEFAULT_REDACTION_RULES =
+            "body,headers.Authorization,multiValueHeaders.Authorization,Records.body";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_DRAIN = 64;
+
+    private final double sampleRate;
+    private final BlockingQueue<Object> queue;
+    private final EventRedactor redactor;
+    private final OutputStream output;
+    private final boolean wrap;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+
+    EventCapture(double sampleRate, int bufferSize, EventRedactor redactor, OutputStream output, boolean wrap) {
+        this.sampleRate = sampleRate;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        this.redactor = redactor;
+        this.output = output;
+        this.wrap = wrap;
+
+        Thread writer = new Thread(this::drainLoop, "event-capture-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns a capture configured from the environment, or {@code null} when capture is disabled.
+     */
+    public static EventCapture fromEnvironment() {
+        double sampleRate = getDouble("EVENT_CAPTURE_SAMPLE_RATE", 0.0);
+        if (sampleRate <= 0) {
+            return null;
+        }
+
+        String target = getString("EVENT_CAPTURE_TARGET", DEFAULT_TARGET);
+        int bufferSize = getInt("EVENT_CAPTURE_BUFFER_SIZE", 1000);
+        EventRedactor redactor = EventRedactor.parse(getString("EVENT_CAPTURE_REDACT", DEFAULT_REDACTION_RULES));
+
+        try {
+            boolean stdout = STDOUT.equalsIgnoreCase(target);
+            OutputStream output = stdout ? System.out : new FileOutputStream(target, true);
+            log.info("Event capture enabled: sampleRate={}, target={}, bufferSize={}", sampleRate, target, bufferSize);
+            return new EventCapture(Math.min(sampleRate, 1.0), bufferSize, redactor, output, stdout);
+        } catch (IOException e) {
+            log.error("Event capture disabled, cannot open {}: {}", target, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Samples the event and queues it for writing. Never blocks; returns {@code false} if the event was dropped.
+     */
+    public boolean capture(Object event) {
+        if (!(event instanceof Map) || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return true;
+        }
+        if (queue.offer(event)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    private void drainLoop() {
+        List<Object> batch = new ArrayList<>(MAX_DRAIN);
+        long reportedDrops = 0;
+
+        while (true) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_DRAIN - 1);
+
+                for (Object event : batch) {
+                    write(event);
+                }
+                // Flush per batch: the environment may be frozen as soon as the invocation returns
+                output.flush();
+
+                long drops = dropped.get();
+                if (drops > reportedDrops) {
+                    log.warn("Event capture buffer full, {} events dropped so far", drops);
+                    reportedDrops = drops;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Event capture write failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(Object event) throws IOException {
+        Object redacted = redactor.redact(event);
+        Object line = wrap ? Map.of(STDOUT_WRAPPER_KEY, redacted) : redacted;
+
+        byte[] json = MAPPER.writeValueAsBytes(line);
+        byte[] record = Arrays.copyOf(json, json.length + 1);
+        record[json.length] = '\n';
+
+        // One write per record: the console appender writes to stdout through its own stream, so a log line
+        // could otherwise land between an event and its newline
+        output.write(record);
+        written.incrementAndGet();
+    }
+
+    private static String getString(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private static int getInt(String name, int defaultValue) {
+        try {
+            return Integer.parseInt(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private static double getDouble(String name, double defaultValue) {
+        try {
+            return Double.parseDouble(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.project.task.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Replaces the values at configured field paths of a raw Lambda event with {@value #REDACTED}.
+ * <p>
+ * Rules are dotted paths such as {@code body} or {@code headers.Authorization}. Keys match
+ * case-insensitively and lists are traversed transparently, so {@code Records.body} covers the body of
+ * every SQS record. The input is never modified; only the maps along a matched path are copied.
+ */
+public final class EventRedactor {
+
+    public static final String REDACTED = "[REDACTED]";
+
+    private final Node root = new Node();
+
+    public EventRedactor(List<String> rules) {
+        for (String rule : rules) {
+            String trimmed = rule.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (String segment : trimmed.split("\\.")) {
+                node = node.children.computeIfAbsent(segment.toLowerCase(Locale.ROOT), key -> new Node());
+            }
+            node.terminal = true;
+        }
+    }
+
+    public static EventRedactor parse(String rules) {
+        return new EventRedactor(rules == null ? List.of() : List.of(rules.split(",")));
+    }
+
+    public Object redact(Object event) {
+        return root.children.isEmpty() ? event : redact(event, root);
+    }
+
+    private Object redact(Object value, Node node) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copy = new LinkedHashMap<>(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Node child = entry.getKey() instanceof String key
+                        ? node.children.get(key.toLowerCase(Locale.ROOT))
+                        : null;
+
+                if (child == null) {
+                    copy.put(entry.getKey(), entry.getValue());
+                } else if (child.terminal) {
+                    copy.put(entry.getKey(), entry.getValue() != null ? REDACTED : null);
+                } else {
+                    copy.put(entry.getKey(), redact(entry.getValue(), child));
+                }
+            }
+            return copy;
+        }
+
+        if (value instanceof List<?> list) {
+            List<Object> copy = new ArrayList<>(list.size());
+            for (Object element : list) {
+                copy.add(redact(element, node));
+            }
+            return copy;
+        }
+
+        return value;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private boolean terminal;
+    }
+
+}
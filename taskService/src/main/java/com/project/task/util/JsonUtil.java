@@ -4,8 +4,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.task.model.Task;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -19,6 +24,14 @@ public final class JsonUtil {
         MAPPER.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
         MAPPER.setSerializationInclusion(JsonInclude.Include.NON_NULL);
         MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // Task carries a property filter so responses can be projected; by default every property is written
+        MAPPER.addMixIn(Task.class, TaskFilterMixIn.class);
+        MAPPER.setFilterProvider(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(TaskFieldProjection.FILTER_ID)
+    private interface TaskFilterMixIn {
     }
 
     private JsonUtil() {
@@ -33,6 +46,18 @@ public final class JsonUtil {
         }
     }
 
+    public static String toJson(Object obj, ObjectWriter writer) {
+        if (writer == null) {
+            return toJson(obj);
+        }
+        try {
+            return writer.writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize object to JSON: {}", e.getMessage());
+            throw new RuntimeException("JSON serialization failed", e);
+        }
+    }
+
     public static <T> T fromJson(String json, Class<T> clazz) {
         try {
             return MAPPER.readValue(json, clazz);
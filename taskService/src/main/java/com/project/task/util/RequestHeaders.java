@@ -0,0 +1,38 @@
+package com.project.task.util;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case-insensitive header lookup for API Gateway proxy requests.
+ * API Gateway passes header names through as sent by the client, so exact-key lookups are unreliable.
+ */
+public final class RequestHeaders {
+
+    private RequestHeaders() {
+    }
+
+    public static String get(APIGatewayProxyRequestEvent request, String name) {
+        Map<String, String> headers = request.getHeaders();
+        if (headers != null) {
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                if (name.equalsIgnoreCase(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+        }
+
+        Map<String, List<String>> multiValueHeaders = request.getMultiValueHeaders();
+        if (multiValueHeaders != null) {
+            for (Map.Entry<String, List<String>> entry : multiValueHeaders.entrySet()) {
+                if (name.equalsIgnoreCase(entry.getKey()) && entry.getValue() != null) {
+                    return String.join(",", entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.project.task.util;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses API Gateway response bodies according to the request's {@code Accept-Encoding}.
+ * <p>
+ * Bodies smaller than {@code RESPONSE_COMPRESSION_MIN_BYTES} (default 1024) are returned untouched.
+ * Deflaters and output buffers are kept per thread and reused across invocations, so compressing
+ * a response does not allocate a new native zlib stream each time.
+ */
+public final class ResponseCompressor {
+
+    private static final Logger log = LogManager.getLogger(ResponseCompressor.class);
+
+    static final String GZIP = "gzip";
+    static final String DEFLATE = "deflate";
+
+    private static final int MIN_COMPRESS_BYTES = getThreshold();
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    // Fixed gzip member header: magic, CM=deflate, no flags, no mtime, no XFL, OS=unknown
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final ThreadLocal<CompressionBuffer> BUFFERS = ThreadLocal.withInitial(CompressionBuffer::new);
+
+    private ResponseCompressor() {
+    }
+
+    public static APIGatewayProxyResponseEvent compress(APIGatewayProxyRequestEvent request,
+                                                        APIGatewayProxyResponseEvent response) {
+        if (response == null || request == null) {
+            return response;
+        }
+
+        String body = response.getBody();
+        if (body == null || Boolean.TRUE.equals(response.getIsBase64Encoded())) {
+            return response;
+        }
+
+        String encoding = negotiate(RequestHeaders.get(request, "Accept-Encoding"));
+        if (encoding == null) {
+            return response;
+        }
+
+        // The threshold is in bytes; a non-ASCII body has more bytes than characters
+        byte[] raw = body.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < MIN_COMPRESS_BYTES) {
+            return response;
+        }
+
+        CompressionBuffer buffer = BUFFERS.get();
+        int compressedLength = GZIP.equals(encoding) ? buffer.gzip(raw) : buffer.deflate(raw);
+
+        if (compressedLength >= raw.length) {
+            log.debug("Skipping {} encoding, no size reduction: {} bytes", encoding, raw.length);
+            return response;
+        }
+
+        ByteBuffer encoded = Base64.getEncoder().encode(ByteBuffer.wrap(buffer.out, 0, compressedLength));
+
+        Map<String, String> headers = response.getHeaders() != null
+                ? new HashMap<>(response.getHeaders())
+                : new HashMap<>();
+        headers.put("Content-Encoding", encoding);
+        headers.put("Vary", "Accept-Encoding");
+
+        log.debug("Compressed response with {}: {} -> {} bytes", encoding, raw.length, compressedLength);
+
+        return response
+                .withHeaders(headers)
+                .withIsBase64Encoded(true)
+                .withBody(new String(encoded.array(), 0, encoded.limit(), StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Picks the preferred supported coding from an {@code Accept-Encoding} value, honouring q-values.
+     * Returns {@code null} when the client only accepts identity.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+
+        double gzipQ = -1;
+        double deflateQ = -1;
+        double wildcardQ = -1;
+
+        for (String part : acceptEncoding.split(",")) {
+            String coding = part;
+            double q = 1.0;
+
+            int semicolon = part.indexOf(';');
+            if (semicolon >= 0) {
+                coding = part.substring(0, semicolon);
+                q = parseQuality(part.substring(semicolon + 1));
+            }
+
+            coding = coding.trim().toLowerCase();
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzipQ = Math.max(gzipQ, q);
+                case DEFLATE -> deflateQ = Math.max(deflateQ, q);
+                case "*" -> wildcardQ = q;
+                default -> {
+                    // br, zstd and others are not supported by the JDK
+                }
+            }
+        }
+
+        if (gzipQ < 0) {
+            gzipQ = wildcardQ;
+        }
+        if (deflateQ < 0) {
+            deflateQ = wildcardQ;
+        }
+
+        if (gzipQ > 0 && gzipQ >= deflateQ) {
+            return GZIP;
+        }
+        if (deflateQ > 0) {
+            return DEFLATE;
+        }
+        return null;
+    }
+
+    private static double parseQuality(String params) {
+        String trimmed = params.trim();
+        if (!trimmed.startsWith("q=")) {
+            return 1.0;
+        }
+        try {
+            return Double.parseDouble(trimmed.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    private static int getThreshold() {
+        try {
+            return Integer.parseInt(System.getenv("RESPONSE_COMPRESSION_MIN_BYTES"));
+        } catch (Exception e) {
+            return 1024;
+        }
+    }
+
+    /**
+     * Per-thread deflaters and a growable output buffer that survive across invocations.
+     */
+    private static final class CompressionBuffer {
+
+        private final Deflater rawDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        private final Deflater zlibDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, false);
+        private final CRC32 crc = new CRC32();
+        private byte[] out = new byte[INITIAL_BUFFER_SIZE];
+
+        int gzip(byte[] input) {
+            System.arraycopy(GZIP_HEADER, 0, out, 0, GZIP_HEADER.length);
+            int length = runDeflater(rawDeflater, input, GZIP_HEADER.length);
+
+            crc.reset();
+            crc.update(input, 0, input.length);
+
+            ensureCapacity(length + 8);
+            length = writeIntLE(length, (int) crc.getValue());
+            return writeIntLE(length, input.length);
+        }
+
+        int deflate(byte[] input) {
+            return runDeflater(zlibDeflater, input, 0);
+        }
+
+        private int runDeflater(Deflater deflater, byte[] input, int offset) {
+            deflater.reset();
+            deflater.setInput(input);
+            deflater.finish();
+
+            int length = offset;
+            while (!deflater.finished()) {
+                ensureCapacity(length + 1);
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            return length;
+        }
+
+        private int writeIntLE(int position, int value) {
+            out[position] = (byte) value;
+            out[position + 1] = (byte) (value >>> 8);
+            out[position + 2] = (byte) (value >>> 16);
+            out[position + 3] = (byte) (value >>> 24);
+            return position + 4;
+        }
+
+        private void ensureCapacity(int required) {
+            if (required > out.length) {
+                byte[] grown = new byte[Math.max(required, out.length * 2)];
+                System.arraycopy(out, 0, grown, 0, out.length);
+                out = grown;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.project.task.util;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves a {@code fields=} query parameter into an {@link ObjectWriter} that only writes the
+ * requested {@code Task} properties.
+ * <p>
+ * Writers are compiled once per distinct field set and cached. Only known {@code Task} properties
+ * are accepted, so the cache is bounded by the number of possible combinations.
+ */
+public final class TaskFieldProjection {
+
+    private static final Logger log = LogManager.getLogger(TaskFieldProjection.class);
+
+    public static final String FILTER_ID = "taskFields";
+    public static final Set<String> TASK_FIELDS = Set.of("id", "name", "description", "status", "createdAt", "updatedAt");
+
+    private static final Map<String, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private TaskFieldProjection() {
+    }
+
+    /**
+     * Returns the writer for the given field list, or {@code null} when no projection was requested.
+     *
+     * @throws IllegalArgumentException if the list names a property {@code Task} does not have
+     */
+    public static ObjectWriter writerFor(String fieldsParam) {
+        if (fieldsParam == null || fieldsParam.isBlank()) {
+            return null;
+        }
+
+        Set<String> fields = new TreeSet<>();
+        for (String field : fieldsParam.split(",")) {
+            String trimmed = field.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (!TASK_FIELDS.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown field: " + trimmed + ". Allowed: " + new TreeSet<>(TASK_FIELDS));
+            }
+            fields.add(trimmed);
+        }
+
+        if (fields.isEmpty()) {
+            return null;
+        }
+
+        // Different spellings of the same set ("status,id" / "id, status") share one compiled writer
+        return WRITERS.computeIfAbsent(String.join(",", fields), key -> {
+            log.debug("Compiling task field projection: {}", key);
+            return JsonUtil.getMapper().writer(new SimpleFilterProvider()
+                    .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+        });
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.project.task.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.project.task.model.Task;
+import com.project.task.validation.TaskRequestValidator;
+
+import java.io.IOException;
+
+/**
+ * A JSON Merge Patch (RFC 7396) against a {@link Task}, read with the streaming parser.
+ * <p>
+ * Only {@code name}, {@code description} and {@code status} are patchable. {@code description: null}
+ * removes the description; removing {@code name} or {@code status} is rejected because a task
+ * cannot exist without them. Server-managed members ({@code id}, {@code createdAt}, {@code updatedAt})
+ * and unknown members are ignored.
+ */
+public final class TaskMergePatch {
+
+    public static final String CONTENT_TYPE = "application/merge-patch+json";
+
+    private static final JsonFactory FACTORY = JsonUtil.getMapper().getFactory();
+
+    private String name;
+    private Task.TaskStatus status;
+    private String description;
+    private boolean descriptionPresent;
+
+    private TaskMergePatch() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if the patch is not an object or sets an invalid value
+     * @throws IOException              if the body is not well-formed JSON
+     */
+    public static TaskMergePatch parse(String body) throws IOException {
+        TaskMergePatch patch = new TaskMergePatch();
+
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Merge patch must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                switch (field) {
+                    case "name" -> {
+                        String name = requireText(parser, value, field);
+                        if (name.isBlank()) {
+                            throw new IllegalArgumentException("'name' cannot be blank");
+                        }
+                        patch.name = name;
+                    }
+                    case "description" -> {
+                        patch.descriptionPresent = true;
+                        patch.description = value == JsonToken.VALUE_NULL ? null : requireText(parser, value, field);
+                    }
+                    case "status" -> {
+                        String status = requireText(parser, value, field);
+                        patch.status = TaskRequestValidator.parseStatus(status);
+                        if (patch.status == null) {
+                            throw new IllegalArgumentException(TaskRequestValidator.invalidStatusMessage(status));
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Unexpected content after merge patch object");
+            }
+        }
+
+        return patch;
+    }
+
+    /**
+     * Returns a new task with the patch applied; the current instance is left untouched.
+     */
+    public Task applyTo(Task current) {
+        return Task.builder()
+                .id(current.getId())
+                .name(name != null ? name : current.getName())
+                .description(descriptionPresent ? description : current.getDescription())
+                .status(status != null ? status : current.getStatus())
+                .createdAt(current.getCreatedAt())
+                .updatedAt(System.currentTimeMillis())
+                .build();
+    }
+
+    private static String requireText(JsonParser parser, JsonToken value, String field) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            throw new IllegalArgumentException("'" + field + "' cannot be removed");
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            throw new IllegalArgumentException("'" + field + "' must be a string");
+        }
+        return parser.getText();
+    }
+
+}
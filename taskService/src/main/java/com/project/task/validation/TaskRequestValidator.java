@@ -0,0 +1,89 @@
+package com.project.task.validation;
+
+import com.project.task.model.Task;
+import com.project.task.model.dto.TaskRequestDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enforces the constraints declared on {@link TaskRequestDTO} for the API Gateway, SQS and EventBridge paths.
+ * <p>
+ * The checks are plain code, so there is no Bean Validation provider to bootstrap at cold start.
+ * Keep them in step with the annotations on the DTO.
+ */
+public final class TaskRequestValidator {
+
+    public static final String ALLOWED_STATUSES = "TODO, IN_PROGRESS, COMPLETED, CANCELLED";
+
+    private static final Map<String, Task.TaskStatus> STATUSES = new HashMap<>();
+
+    static {
+        for (Task.TaskStatus status : Task.TaskStatus.values()) {
+            STATUSES.put(status.name(), status);
+        }
+    }
+
+    private TaskRequestValidator() {
+    }
+
+    /**
+     * Validates a request that creates a task: {@code name} is required and {@code status}, if present, must be known.
+     */
+    public static ValidationResult validateForCreate(TaskRequestDTO dto) {
+        if (dto == null) {
+            return ValidationResult.invalid("Request body is required");
+        }
+
+        List<String> errors = null;
+        if (isBlank(dto.getName())) {
+            errors = addError(errors, "Task name is required");
+        }
+        if (dto.getStatus() != null && parseStatus(dto.getStatus()) == null) {
+            errors = addError(errors, invalidStatusMessage(dto.getStatus()));
+        }
+        return errors == null ? ValidationResult.valid() : new ValidationResult(errors);
+    }
+
+    /**
+     * Validates a partial update: absent fields are left alone, but present ones must be valid.
+     */
+    public static ValidationResult validateForUpdate(TaskRequestDTO dto) {
+        if (dto == null) {
+            return ValidationResult.invalid("Request body is required");
+        }
+
+        List<String> errors = null;
+        if (dto.getName() != null && dto.getName().isBlank()) {
+            errors = addError(errors, "Task name cannot be blank");
+        }
+        if (dto.getStatus() != null && parseStatus(dto.getStatus()) == null) {
+            errors = addError(errors, invalidStatusMessage(dto.getStatus()));
+        }
+        return errors == null ? ValidationResult.valid() : new ValidationResult(errors);
+    }
+
+    /**
+     * Returns the matching status, or {@code null} if the value is not a known status.
+     */
+    public static Task.TaskStatus parseStatus(String value) {
+        return value != null ? STATUSES.get(value) : null;
+    }
+
+    public static String invalidStatusMessage(String value) {
+        return "Invalid status '" + value + "'. Must be: " + ALLOWED_STATUSES;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static List<String> addError(List<String> errors, String error) {
+        List<String> result = errors != null ? errors : new ArrayList<>(2);
+        result.add(error);
+        return result;
+    }
+
+}
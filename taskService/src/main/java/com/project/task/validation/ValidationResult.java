@@ -0,0 +1,32 @@
+package com.project.task.validation;
+
+import java.util.List;
+
+/**
+ * Outcome of validating an inbound task payload. Invalid input is reported here rather than thrown,
+ * so rejecting a burst of bad messages costs no stack traces.
+ */
+public record ValidationResult(List<String> errors) {
+
+    private static final ValidationResult VALID = new ValidationResult(List.of());
+
+    public ValidationResult {
+        errors = List.copyOf(errors);
+    }
+
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    public static ValidationResult invalid(String error) {
+        return new ValidationResult(List.of(error));
+    }
+
+    public boolean isValid() {
+        return errors.isEmpty();
+    }
+
+    public String errorMessage() {
+        return String.join("; ", errors);
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.task.handler;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
+import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.amazonaws.services.lambda.runtime.events.ScheduledEvent;
+import org.joda.time.DateTime;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the per-source entry points, which receive typed events directly
+ * instead of the raw Map handled by {@link UnifiedTaskHandler}.
+ */
+public class TypedTaskHandlersTest {
+
+    @Mock
+    private Context mockContext;
+
+    @Before
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        when(mockContext.getAwsRequestId()).thenReturn("typed-handler-request-id");
+        when(mockContext.getFunctionName()).thenReturn("task-service-function");
+        when(mockContext.getRemainingTimeInMillis()).thenReturn(30000);
+    }
+
+    @Test
+    public void testApiGatewayTaskHandler_Ping() {
+        System.out.println("\n=== Test: ApiGatewayTaskHandler /ping ===");
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod("GET");
+        event.setPath("/ping");
+        event.setResource("/ping");
+
+        APIGatewayProxyResponseEvent response = new ApiGatewayTaskHandler().handleRequest(event, mockContext);
+
+        assertNotNull(response);
+        assertEquals(Integer.valueOf(200), response.getStatusCode());
+        assertTrue(response.getBody().contains("healthy"));
+
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testSqsTaskHandler_Success() {
+        System.out.println("\n=== Test: SqsTaskHandler - Success ===");
+
+        SQSEvent.SQSMessage message = new SQSEvent.SQSMessage();
+        message.setMessageId("typed-sqs-message-1");
+        message.setBody("{\"name\":\"Typed SQS Task\",\"status\":\"TODO\"}");
+        message.setEventSource("aws:sqs");
+
+        SQSEvent event = new SQSEvent();
+        event.setRecords(Arrays.asList(message));
+
+        SQSBatchResponse response = new SqsTaskHandler().handleRequest(event, mockContext);
+
+        assertNotNull(response);
+        assertEquals(0, response.getBatchItemFailures().size());
+
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testEventBridgeTaskHandler_Scheduled() {
+        System.out.println("\n=== Test: EventBridgeTaskHandler - Scheduled ===");
+
+        ScheduledEvent event = new ScheduledEvent();
+        event.setId("typed-scheduled-1");
+        event.setSource("aws.events");
+        event.setDetailType("Scheduled Event");
+        event.setTime(DateTime.now());
+
+        Map<String, Object> detail = new HashMap<>();
+        event.setDetail(detail);
+
+        String response = new EventBridgeTaskHandler().handleRequest(event, mockContext);
+
+        assertEquals("OK", response);
+
+        System.out.println("✓ Test passed");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEventBridgeTaskHandler_UnknownSource() {
+        System.out.println("\n=== Test: EventBridgeTaskHandler - Unknown Source ===");
+
+        ScheduledEvent event = new ScheduledEvent();
+        event.setId("typed-unknown-1");
+        event.setSource("com.unknown");
+        event.setDetailType("Something");
+
+        new EventBridgeTaskHandler().handleRequest(event, mockContext);
+    }
+}
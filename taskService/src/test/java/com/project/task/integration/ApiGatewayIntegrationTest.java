@@ -3,7 +3,10 @@ package com.project.task.integration;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
 import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.project.task.data.TaskData;
 import com.project.task.handler.UnifiedTaskHandler;
+import com.project.task.model.Task;
+import com.project.task.util.TaskMergePatch;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -229,6 +232,126 @@ public class ApiGatewayIntegrationTest extends BaseIntegrationTest {
         System.out.println("✓ Error handling test passed");
     }
 
+    @Test
+    public void testApiGateway_GetTaskById_FieldProjection() throws Exception {
+        System.out.println("\n=== Test: API Gateway GET /task/{id}?fields=id,status ===");
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod("GET");
+        event.setPath("/task/task-3");
+        event.setResource("/task/task-3");
+
+        Map<String, String> pathParams = new HashMap<>();
+        pathParams.put("id", "task-3");
+        event.setPathParameters(pathParams);
+
+        Map<String, String> queryParams = new HashMap<>();
+        queryParams.put("fields", "status, id");
+        event.setQueryStringParameters(queryParams);
+
+        Object response = handler.handleRequest(convertToMap(event), mockContext);
+
+        APIGatewayProxyResponseEvent apiResponse = (APIGatewayProxyResponseEvent) response;
+        assertEquals(Integer.valueOf(200), apiResponse.getStatusCode());
+
+        Map<?, ?> body = objectMapper.readValue(apiResponse.getBody(), Map.class);
+        Map<?, ?> data = (Map<?, ?>) body.get("data");
+        assertEquals("Only requested fields should be written", 2, data.size());
+        assertEquals("task-3", data.get("id"));
+        assertEquals("COMPLETED", data.get("status"));
+        assertEquals("Envelope should be unaffected", "success", body.get("status"));
+
+        System.out.println("✓ Field projection test passed");
+    }
+
+    @Test
+    public void testApiGateway_GetAllTasks_UnknownField() {
+        System.out.println("\n=== Test: API Gateway GET /task?fields=unknown ===");
+
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod("GET");
+        event.setPath("/task");
+        event.setResource("/task");
+
+        Map<String, String> queryParams = new HashMap<>();
+        queryParams.put("fields", "id,owner");
+        event.setQueryStringParameters(queryParams);
+
+        Object response = handler.handleRequest(convertToMap(event), mockContext);
+
+        APIGatewayProxyResponseEvent apiResponse = (APIGatewayProxyResponseEvent) response;
+        assertEquals(Integer.valueOf(400), apiResponse.getStatusCode());
+        assertTrue(apiResponse.getBody().contains("Unknown field: owner"));
+
+        System.out.println("✓ Unknown field test passed");
+    }
+
+    @Test
+    public void testApiGateway_MergePatchTask() throws Exception {
+        System.out.println("\n=== Test: API Gateway PATCH /task/{id} ===");
+
+        Task task = Task.builder()
+                .id("patch-task-1")
+                .name("Patch me")
+                .description("Original description")
+                .status(Task.TaskStatus.TODO)
+                .build();
+        TaskData.saveTask(task);
+
+        APIGatewayProxyRequestEvent event = patchEvent("patch-task-1", TaskMergePatch.CONTENT_TYPE,
+                "{\"status\":\"IN_PROGRESS\",\"description\":null,\"id\":\"ignored\"}");
+
+        Object response = handler.handleRequest(convertToMap(event), mockContext);
+
+        APIGatewayProxyResponseEvent apiResponse = (APIGatewayProxyResponseEvent) response;
+        assertEquals(Integer.valueOf(200), apiResponse.getStatusCode());
+
+        Task stored = TaskData.getTaskById("patch-task-1");
+        assertEquals(Task.TaskStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals("Patch me", stored.getName());
+        assertNull("null member should remove description", stored.getDescription());
+        assertEquals(task.getCreatedAt(), stored.getCreatedAt());
+        assertEquals("Stored instance is replaced, not mutated", "Original description", task.getDescription());
+
+        System.out.println("✓ Merge patch test passed");
+    }
+
+    @Test
+    public void testApiGateway_MergePatchTask_Rejected() {
+        System.out.println("\n=== Test: API Gateway PATCH /task/{id} rejections ===");
+
+        APIGatewayProxyResponseEvent wrongType = (APIGatewayProxyResponseEvent) handler.handleRequest(
+                convertToMap(patchEvent("task-3", "application/json", "{\"status\":\"TODO\"}")), mockContext);
+        assertEquals(Integer.valueOf(415), wrongType.getStatusCode());
+
+        APIGatewayProxyResponseEvent removeName = (APIGatewayProxyResponseEvent) handler.handleRequest(
+                convertToMap(patchEvent("task-3", TaskMergePatch.CONTENT_TYPE, "{\"name\":null}")), mockContext);
+        assertEquals(Integer.valueOf(400), removeName.getStatusCode());
+
+        APIGatewayProxyResponseEvent missing = (APIGatewayProxyResponseEvent) handler.handleRequest(
+                convertToMap(patchEvent("no-such-task", TaskMergePatch.CONTENT_TYPE, "{\"status\":\"TODO\"}")), mockContext);
+        assertEquals(Integer.valueOf(404), missing.getStatusCode());
+
+        System.out.println("✓ Merge patch rejection test passed");
+    }
+
+    private APIGatewayProxyRequestEvent patchEvent(String id, String contentType, String body) {
+        APIGatewayProxyRequestEvent event = new APIGatewayProxyRequestEvent();
+        event.setHttpMethod("PATCH");
+        event.setPath("/task/" + id);
+        event.setResource("/task/{id}");
+        event.setBody(body);
+
+        Map<String, String> pathParams = new HashMap<>();
+        pathParams.put("id", id);
+        event.setPathParameters(pathParams);
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put("content-type", contentType);
+        event.setHeaders(headers);
+        return event;
+    }
+
     @Test
     public void testApiGateway_Performance() {
         System.out.println("\n=== Test: API Gateway Performance ===");
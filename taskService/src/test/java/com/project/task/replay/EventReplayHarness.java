@@ -0,0 +1,288 @@
+package com.project.task.replay;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.task.data.TaskData;
+import com.project.task.handler.UnifiedTaskHandler;
+import com.project.task.model.InvocationType;
+import com.project.task.util.EventCapture;
+import com.project.task.util.InvocationTypeDetector;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays recorded Lambda input events against {@link UnifiedTaskHandler#handleRequest} in process.
+ * <p>
+ * Events are read from NDJSON (one raw event per line, as Lambda delivers it or as written by
+ * {@link EventCapture}) and classified once at load time. Workers then cycle through them for the
+ * configured warm-up and measured duration. With a target rate, each invocation has a scheduled start
+ * time and latency is measured from that time, so a stalled handler shows up as queueing delay instead
+ * of silently lowering the offered load.
+ */
+public class EventReplayHarness {
+
+    static final String SAMPLE_EVENTS = "/replay/sample-events.ndjson";
+
+    private static final String APP_LOGGER = "com.project.task";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final UnifiedTaskHandler handler = new UnifiedTaskHandler();
+    private final List<ReplayEvent> events;
+
+    record ReplayEvent(InvocationType type, Map<String, Object> payload) {
+    }
+
+    public EventReplayHarness(List<ReplayEvent> events) {
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("No events to replay");
+        }
+        this.events = events;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ReplayConfig config = ReplayConfig.fromSystemProperties();
+        System.out.println(run(config).format());
+    }
+
+    /**
+     * Replays at {@link ReplayConfig#logLevel()}. Log levels are JVM-wide, so the previous ones are restored
+     * afterwards for whatever runs next in the same JVM.
+     */
+    static ReplayReport run(ReplayConfig config) throws Exception {
+        LoggerConfig appLogger = ((LoggerContext) LogManager.getContext(false)).getConfiguration()
+                .getLoggers().get(APP_LOGGER);
+        Level previousApp = appLogger != null ? appLogger.getLevel() : null;
+        Level previousRoot = LogManager.getRootLogger().getLevel();
+
+        Level level = Level.toLevel(config.logLevel(), Level.WARN);
+        Configurator.setRootLevel(level);
+        Configurator.setLevel(APP_LOGGER, level);
+        try {
+            return loadAndReplay(config);
+        } finally {
+            Configurator.setRootLevel(previousRoot);
+            // null lets a logger that was not configured before inherit from the root again
+            Configurator.setLevel(APP_LOGGER, previousApp);
+        }
+    }
+
+    private static ReplayReport loadAndReplay(ReplayConfig config) throws Exception {
+        List<ReplayEvent> events;
+        if (config.eventsFile() != null) {
+            try (InputStream in = Files.newInputStream(config.eventsFile())) {
+                events = load(in);
+            }
+        } else {
+            try (InputStream in = EventReplayHarness.class.getResourceAsStream(SAMPLE_EVENTS)) {
+                events = load(in);
+            }
+        }
+
+        TaskData.reset();
+        return new EventReplayHarness(events).replay(config);
+    }
+
+    static List<ReplayEvent> load(InputStream in) throws IOException {
+        List<ReplayEvent> events = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> payload = MAPPER.readValue(line, LinkedHashMap.class);
+
+                // Lines captured to stdout are wrapped so they can be told apart from log output
+                if (payload.size() == 1 && payload.get(EventCapture.STDOUT_WRAPPER_KEY) instanceof Map<?, ?>) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> unwrapped = (Map<String, Object>) payload.get(EventCapture.STDOUT_WRAPPER_KEY);
+                    payload = unwrapped;
+                }
+                InvocationType type = InvocationTypeDetector.detectAndDeserialize(payload).invocationType();
+                events.add(new ReplayEvent(type, payload));
+            }
+        }
+        return events;
+    }
+
+    ReplayReport replay(ReplayConfig config) throws Exception {
+        // Warm-up results are discarded
+        runWorkers(config, config.warmup());
+
+        GcPauseListener gcListener = new GcPauseListener();
+        gcListener.register();
+
+        long start = System.nanoTime();
+        Map<InvocationType, LatencyRecorder> byType;
+        try {
+            byType = runWorkers(config, config.duration());
+        } finally {
+            gcListener.unregister();
+        }
+        Duration measured = Duration.ofNanos(System.nanoTime() - start);
+
+        byType.values().forEach(LatencyRecorder::seal);
+        return new ReplayReport(byType, measured,
+                gcListener.count.get(), gcListener.totalMillis(), gcListener.maxMillis());
+    }
+
+    private Map<InvocationType, LatencyRecorder> runWorkers(ReplayConfig config, Duration duration) throws Exception {
+        if (duration.isZero() || duration.isNegative()) {
+            return new EnumMap<>(InvocationType.class);
+        }
+
+        int concurrency = Math.max(1, config.concurrency());
+        long intervalNanos = config.ratePerSecond() > 0 ? 1_000_000_000L / config.ratePerSecond() : 0;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        AtomicLong sequence = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Map<InvocationType, LatencyRecorder>>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> work(sequence, start, deadline, intervalNanos)));
+            }
+
+            Map<InvocationType, LatencyRecorder> merged = new EnumMap<>(InvocationType.class);
+            for (Future<Map<InvocationType, LatencyRecorder>> future : futures) {
+                future.get().forEach((type, recorder) ->
+                        merged.computeIfAbsent(type, t -> new LatencyRecorder()).merge(recorder));
+            }
+            return merged;
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private Map<InvocationType, LatencyRecorder> work(AtomicLong sequence, long start, long deadline, long intervalNanos) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Map<InvocationType, LatencyRecorder> recorders = new EnumMap<>(InvocationType.class);
+
+        while (true) {
+            long seq = sequence.getAndIncrement();
+            long scheduled = intervalNanos > 0 ? start + seq * intervalNanos : System.nanoTime();
+            if (scheduled >= deadline) {
+                break;
+            }
+
+            long now = System.nanoTime();
+            if (scheduled > now) {
+                LockSupport.parkNanos(scheduled - now);
+            }
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+
+            ReplayEvent event = events.get((int) (seq % events.size()));
+
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            Object response = handler.handleRequest(event.payload(), new ReplayContext());
+            long end = System.nanoTime();
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            recorders.computeIfAbsent(event.type(), t -> new LatencyRecorder())
+                    .record(end - scheduled, allocated, isError(response));
+        }
+        return recorders;
+    }
+
+    private static boolean isError(Object response) {
+        if (response instanceof Map<?, ?> map) {
+            return map.containsKey("errorMessage");
+        }
+        if (response instanceof APIGatewayProxyResponseEvent apiResponse) {
+            return apiResponse.getStatusCode() != null && apiResponse.getStatusCode() >= 500;
+        }
+        return false;
+    }
+
+    /**
+     * Collects stop-the-world pause durations from GC notifications.
+     * Concurrent cycles run alongside the application and are skipped.
+     */
+    private static final class GcPauseListener implements NotificationListener {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void register() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (isPauseCollector(gc.getName()) && gc instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener(this, null, null);
+                }
+            }
+        }
+
+        void unregister() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (isPauseCollector(gc.getName()) && gc instanceof NotificationEmitter emitter) {
+                    try {
+                        emitter.removeNotificationListener(this);
+                    } catch (Exception ignored) {
+                        // Listener was never added to this collector
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            long micros = info.getGcInfo().getDuration() * 1000;
+
+            count.incrementAndGet();
+            totalMicros.addAndGet(micros);
+            maxMicros.accumulateAndGet(micros, Math::max);
+        }
+
+        double totalMillis() {
+            return totalMicros.get() / 1000.0;
+        }
+
+        double maxMillis() {
+            return maxMicros.get() / 1000.0;
+        }
+
+        private static boolean isPauseCollector(String name) {
+            return !name.contains("Concurrent") && !name.contains("Cycles");
+        }
+    }
+}
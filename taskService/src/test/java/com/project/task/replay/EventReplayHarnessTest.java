@@ -0,0 +1,60 @@
+package com.project.task.replay;
+
+import com.project.task.model.InvocationType;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs a short replay of the bundled sample events.
+ * Pass replay.* system properties (see {@link ReplayConfig}) to replay a recorded file for longer.
+ */
+public class EventReplayHarnessTest {
+
+    @Test
+    public void testLoadSampleEvents() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream(EventReplayHarness.SAMPLE_EVENTS)) {
+            List<EventReplayHarness.ReplayEvent> events = EventReplayHarness.load(in);
+
+            assertEquals(8, events.size());
+            assertEquals(5, events.stream().filter(e -> e.type() == InvocationType.API_GATEWAY).count());
+            assertEquals(1, events.stream().filter(e -> e.type() == InvocationType.SQS).count());
+            assertEquals(2, events.stream().filter(e -> e.type() == InvocationType.EVENT_BRIDGE).count());
+        }
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        System.out.println("\n=== Test: In-process event replay ===");
+
+        ReplayConfig defaults = ReplayConfig.fromSystemProperties();
+        ReplayConfig config = System.getProperty("replay.file") != null
+                ? defaults
+                : new ReplayConfig(null, 2, 0, Duration.ofMillis(500), Duration.ofSeconds(1), defaults.logLevel());
+
+        Level rootLevel = LogManager.getRootLogger().getLevel();
+        Level appLevel = LogManager.getLogger("com.project.task").getLevel();
+
+        ReplayReport report = EventReplayHarness.run(config);
+        System.out.println(report.format());
+
+        assertEquals("Log levels must be restored for later tests", rootLevel, LogManager.getRootLogger().getLevel());
+        assertEquals(appLevel, LogManager.getLogger("com.project.task").getLevel());
+
+        assertTrue("Replay should invoke the handler", report.totalInvocations() > 0);
+        if (config.eventsFile() == null) {
+            for (InvocationType type : InvocationType.values()) {
+                assertTrue(type + " should be replayed", report.invocations(type) > 0);
+                assertEquals(type + " should not fail", 0, report.errors(type));
+            }
+        }
+
+        System.out.println("✓ Test passed");
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.task.replay;
+
+import java.util.Arrays;
+
+/**
+ * Single-threaded recorder of per-invocation latency and allocation for one invocation type.
+ * Each worker owns its recorders; they are merged once the run is over.
+ */
+class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private long errors;
+    private long allocatedBytes;
+
+    void record(long latencyNanos, long allocated, boolean error) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        allocatedBytes += Math.max(0, allocated);
+        if (error) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        if (count + other.count > latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count + other.count);
+        }
+        System.arraycopy(other.latenciesNanos, 0, latenciesNanos, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        allocatedBytes += other.allocatedBytes;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Sorts the recorded samples in place; call once before reading percentiles.
+     */
+    void seal() {
+        Arrays.sort(latenciesNanos, 0, count);
+    }
+
+    double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return latenciesNanos[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return count == 0 ? 0 : latenciesNanos[count - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.task.replay;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for a replay run. Every value can be overridden with a {@code replay.*} system property,
+ * e.g. {@code mvn test -Dtest=EventReplayHarnessTest -Dreplay.file=/tmp/events.ndjson -Dreplay.duration=60}.
+ *
+ * @param eventsFile  NDJSON file with one raw Lambda input event per line; {@code null} uses the bundled sample
+ * @param concurrency number of worker threads invoking the handler
+ * @param ratePerSecond target invocations per second across all workers; {@code 0} means as fast as possible
+ * @param warmup      time spent invoking before measurement starts, to let the JIT settle
+ * @param duration    measured run time
+ * @param logLevel    log level applied to application loggers for the run
+ */
+public record ReplayConfig(
+        Path eventsFile,
+        int concurrency,
+        int ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        String logLevel
+) {
+
+    public static ReplayConfig fromSystemProperties() {
+        String file = System.getProperty("replay.file");
+        return new ReplayConfig(
+                file != null && !file.isBlank() ? Path.of(file) : null,
+                Integer.getInteger("replay.concurrency", 4),
+                Integer.getInteger("replay.rate", 0),
+                Duration.ofSeconds(Long.getLong("replay.warmup", 2L)),
+                Duration.ofSeconds(Long.getLong("replay.duration", 5L)),
+                System.getProperty("replay.logLevel", "WARN")
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.task.replay;
+
+import com.project.task.model.InvocationType;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Results of a replay run.
+ * <p>
+ * Latency, throughput and allocation are broken down per {@link InvocationType}. GC pauses are
+ * process-wide: a collection cannot be attributed to the invocation that happened to trigger it.
+ */
+record ReplayReport(
+        Map<InvocationType, LatencyRecorder> byType,
+        Duration measured,
+        long gcPauseCount,
+        double gcPauseTotalMillis,
+        double gcPauseMaxMillis
+) {
+
+    public long totalInvocations() {
+        return byType.values().stream().mapToLong(LatencyRecorder::count).sum();
+    }
+
+    public long invocations(InvocationType type) {
+        LatencyRecorder recorder = byType.get(type);
+        return recorder != null ? recorder.count() : 0;
+    }
+
+    public long errors(InvocationType type) {
+        LatencyRecorder recorder = byType.get(type);
+        return recorder != null ? recorder.errors() : 0;
+    }
+
+    public String format() {
+        double seconds = measured.toNanos() / 1_000_000_000.0;
+        StringBuilder out = new StringBuilder();
+
+        out.append(String.format("%nReplay results over %.1fs%n", seconds));
+        out.append(String.format("%-12s %9s %7s %10s %9s %9s %9s %9s %12s %10s%n",
+                "type", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "alloc MB/s", "KB/op"));
+
+        for (Map.Entry<InvocationType, LatencyRecorder> entry : byType.entrySet()) {
+            LatencyRecorder r = entry.getValue();
+            if (r.count() == 0) {
+                continue;
+            }
+            out.append(String.format("%-12s %9d %7d %10.1f %9.3f %9.3f %9.3f %9.3f %12.1f %10.1f%n",
+                    entry.getKey().name(),
+                    r.count(),
+                    r.errors(),
+                    r.count() / seconds,
+                    r.percentileMillis(50),
+                    r.percentileMillis(99),
+                    r.percentileMillis(99.9),
+                    r.maxMillis(),
+                    r.allocatedBytes() / seconds / (1024 * 1024),
+                    r.allocatedBytes() / (double) r.count() / 1024));
+        }
+
+        out.append(String.format("GC pauses: count=%d, total=%.1f ms, max=%.1f ms%n",
+                gcPauseCount, gcPauseTotalMillis, gcPauseMaxMillis));
+        return out.toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.task.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests sampled event capture and field-level redaction
+ */
+public class EventCaptureTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testRedaction() {
+        EventRedactor redactor = EventRedactor.parse(EventCapture.DEFAULT_REDACTION_RULES);
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("authorization", "Bearer secret");
+        headers.put("Accept", "application/json");
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("httpMethod", "POST");
+        event.put("body", "{\"name\":\"secret task\"}");
+        event.put("headers", headers);
+        event.put("Records", List.of(Map.of("messageId", "m-1", "body", "payload")));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> redacted = (Map<String, Object>) redactor.redact(event);
+
+        assertEquals("POST", redacted.get("httpMethod"));
+        assertEquals(EventRedactor.REDACTED, redacted.get("body"));
+        assertEquals(EventRedactor.REDACTED, ((Map<?, ?>) redacted.get("headers")).get("authorization"));
+        assertEquals("application/json", ((Map<?, ?>) redacted.get("headers")).get("Accept"));
+        Map<?, ?> record = (Map<?, ?>) ((List<?>) redacted.get("Records")).get(0);
+        assertEquals("m-1", record.get("messageId"));
+        assertEquals(EventRedactor.REDACTED, record.get("body"));
+
+        assertEquals("Input must not be modified", "Bearer secret", headers.get("authorization"));
+    }
+
+    @Test
+    public void testCaptureWritesNdjson() throws Exception {
+        AtomicInteger writes = new AtomicInteger();
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] b, int off, int len) {
+                writes.incrementAndGet();
+                super.write(b, off, len);
+            }
+        };
+        EventCapture capture = new EventCapture(1.0, 10, EventRedactor.parse("body"), output, false);
+
+        assertTrue(capture.capture(Map.of("httpMethod", "GET", "body", "secret")));
+        awaitWritten(capture, 1);
+        assertEquals("The record and its newline must go out in one write", 1, writes.get());
+
+        String line;
+        synchronized (output) {
+            line = output.toString(StandardCharsets.UTF_8);
+        }
+        assertTrue(line.endsWith("\n"));
+        Map<?, ?> written = objectMapper.readValue(line.trim(), Map.class);
+        assertEquals("GET", written.get("httpMethod"));
+        assertEquals(EventRedactor.REDACTED, written.get("body"));
+    }
+
+    @Test
+    public void testFullBufferDropsInsteadOfBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        OutputStream blocked = new OutputStream() {
+            @Override
+            public void write(int b) {
+                awaitRelease();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                awaitRelease();
+            }
+
+            private void awaitRelease() {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        EventCapture capture = new EventCapture(1.0, 1, EventRedactor.parse(""), blocked, false);
+
+        // First event is taken by the writer, which then blocks on the output
+        capture.capture(Map.of("n", 1));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertTrue("Second event fills the buffer", capture.capture(Map.of("n", 2)));
+        long start = System.nanoTime();
+        assertFalse("Third event is dropped", capture.capture(Map.of("n", 3)));
+        assertTrue("Drop must not block", System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, capture.droppedCount());
+
+        release.countDown();
+    }
+
+    private void awaitWritten(EventCapture capture, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (capture.writtenCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, capture.writtenCount());
+    }
+}
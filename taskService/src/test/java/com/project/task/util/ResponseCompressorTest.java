@@ -0,0 +1,123 @@
+package com.project.task.util;
+
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyRequestEvent;
+import com.amazonaws.services.lambda.runtime.events.APIGatewayProxyResponseEvent;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests Accept-Encoding negotiation and body compression of API Gateway responses
+ */
+public class ResponseCompressorTest {
+
+    private static final String LARGE_BODY = "{\"data\":\"" + "task-payload ".repeat(500) + "\"}";
+
+    @Test
+    public void testNegotiate() {
+        assertEquals("gzip", ResponseCompressor.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", ResponseCompressor.negotiate("gzip;q=0, deflate"));
+        assertEquals("deflate", ResponseCompressor.negotiate("gzip;q=0.2, deflate;q=0.8"));
+        assertEquals("gzip", ResponseCompressor.negotiate("*"));
+        assertNull(ResponseCompressor.negotiate("br"));
+        assertNull(ResponseCompressor.negotiate("identity"));
+        assertNull(ResponseCompressor.negotiate(null));
+    }
+
+    @Test
+    public void testLargeBody_GzipRoundTrip() throws Exception {
+        System.out.println("\n=== Test: gzip compression of large body ===");
+
+        APIGatewayProxyResponseEvent response = ResponseCompressor.compress(
+                request("gzip, deflate"), response(LARGE_BODY));
+
+        assertEquals(Boolean.TRUE, response.getIsBase64Encoded());
+        assertEquals("gzip", response.getHeaders().get("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeaders().get("Vary"));
+        assertEquals("application/json", response.getHeaders().get("Content-Type"));
+
+        byte[] compressed = Base64.getDecoder().decode(response.getBody());
+        assertTrue("Compressed body should be smaller", compressed.length < LARGE_BODY.length());
+        assertEquals(LARGE_BODY, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+
+        // Second call reuses the pooled deflater and buffer
+        APIGatewayProxyResponseEvent second = ResponseCompressor.compress(
+                request("gzip"), response(LARGE_BODY));
+        byte[] secondCompressed = Base64.getDecoder().decode(second.getBody());
+        assertEquals(LARGE_BODY, readAll(new GZIPInputStream(new ByteArrayInputStream(secondCompressed))));
+
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testLargeBody_DeflateRoundTrip() throws Exception {
+        APIGatewayProxyResponseEvent response = ResponseCompressor.compress(
+                request("deflate"), response(LARGE_BODY));
+
+        assertEquals("deflate", response.getHeaders().get("Content-Encoding"));
+        byte[] compressed = Base64.getDecoder().decode(response.getBody());
+        assertEquals(LARGE_BODY, readAll(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    public void testSmallBody_NotCompressed() {
+        String body = "{\"status\":\"healthy\"}";
+        APIGatewayProxyResponseEvent response = ResponseCompressor.compress(request("gzip"), response(body));
+
+        assertEquals(body, response.getBody());
+        assertNull(response.getIsBase64Encoded());
+        assertFalse(response.getHeaders().containsKey("Content-Encoding"));
+    }
+
+    @Test
+    public void testThresholdCountsUtf8Bytes() throws Exception {
+        // Fewer characters than the 1024 byte threshold, but more bytes
+        String body = "{\"name\":\"" + "Größenänderung ".repeat(60) + "\"}";
+        assertTrue(body.length() < 1024);
+        assertTrue(body.getBytes(StandardCharsets.UTF_8).length >= 1024);
+
+        APIGatewayProxyResponseEvent response = ResponseCompressor.compress(request("gzip"), response(body));
+
+        assertEquals("gzip", response.getHeaders().get("Content-Encoding"));
+        byte[] compressed = Base64.getDecoder().decode(response.getBody());
+        assertEquals(body, readAll(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+    }
+
+    @Test
+    public void testNoAcceptEncoding_NotCompressed() {
+        APIGatewayProxyResponseEvent response = ResponseCompressor.compress(
+                new APIGatewayProxyRequestEvent(), response(LARGE_BODY));
+
+        assertEquals(LARGE_BODY, response.getBody());
+        assertNull(response.getIsBase64Encoded());
+    }
+
+    private APIGatewayProxyRequestEvent request(String acceptEncoding) {
+        return new APIGatewayProxyRequestEvent()
+                .withHeaders(Map.of("accept-encoding", acceptEncoding));
+    }
+
+    private APIGatewayProxyResponseEvent response(String body) {
+        return new APIGatewayProxyResponseEvent()
+                .withStatusCode(200)
+                .withHeaders(Map.of("Content-Type", "application/json"))
+                .withBody(body);
+    }
+
+    private String readAll(InputStream in) throws Exception {
+        try (in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            in.transferTo(out);
+            return out.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.task.validation;
+
+import com.project.task.model.Task;
+import com.project.task.model.dto.TaskRequestDTO;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the shared task request validation used by the API Gateway, SQS and EventBridge paths
+ */
+public class TaskRequestValidatorTest {
+
+    @Test
+    public void testValidateForCreate_Valid() {
+        TaskRequestDTO dto = TaskRequestDTO.builder().name("Task").status("IN_PROGRESS").build();
+
+        ValidationResult result = TaskRequestValidator.validateForCreate(dto);
+
+        assertTrue(result.isValid());
+        assertTrue(result.errors().isEmpty());
+    }
+
+    @Test
+    public void testValidateForCreate_MissingNameAndBadStatus() {
+        TaskRequestDTO dto = TaskRequestDTO.builder().name("  ").status("DONE").build();
+
+        ValidationResult result = TaskRequestValidator.validateForCreate(dto);
+
+        assertFalse(result.isValid());
+        assertEquals(2, result.errors().size());
+        assertEquals("Task name is required", result.errors().get(0));
+        assertTrue(result.errors().get(1).contains("Invalid status 'DONE'"));
+    }
+
+    @Test
+    public void testValidateForUpdate_AllowsMissingName() {
+        TaskRequestDTO dto = TaskRequestDTO.builder().status("COMPLETED").build();
+
+        assertTrue(TaskRequestValidator.validateForUpdate(dto).isValid());
+        assertFalse(TaskRequestValidator.validateForUpdate(TaskRequestDTO.builder().name("").build()).isValid());
+    }
+
+    @Test
+    public void testParseStatus() {
+        assertEquals(Task.TaskStatus.CANCELLED, TaskRequestValidator.parseStatus("CANCELLED"));
+        assertNull(TaskRequestValidator.parseStatus("cancelled"));
+        assertNull(TaskRequestValidator.parseStatus(null));
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.token.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded map that evicts the least recently used key once {@code maxSize} is exceeded.
+ * <p>
+ * Reads are lock-free: a hit only stamps the entry with the next value of a counter. Eviction scans for the oldest
+ * stamp, which is linear in the size but only happens when a new key is inserted into a full cache, so it
+ * stays off the hot path for the few hundred keys this is meant for.
+ */
+public final class BoundedCache<K, V> {
+
+    private static final Logger log = LogManager.getLogger(BoundedCache.class);
+
+    private final String name;
+    private final int maxSize;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    private final AtomicLong accessCounter = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(String name, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be at least 1");
+        }
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the value for the key and marks it as recently used; counts a hit or a miss.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastAccess = accessCounter.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Returns the value without touching recency or statistics.
+     */
+    public V peek(K key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public void put(K key, V value) {
+        Entry<V> previous = entries.put(key, new Entry<>(value, accessCounter.incrementAndGet()));
+        if (previous == null && entries.size() > maxSize) {
+            evictOverflow();
+        }
+    }
+
+    public V remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        return removed == null ? null : removed.value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), maxSize);
+    }
+
+    private void evictOverflow() {
+        synchronized (evictionLock) {
+            while (entries.size() > maxSize) {
+                K oldestKey = null;
+                Entry<V> oldest = null;
+
+                for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+                    if (oldest == null || candidate.getValue().lastAccess < oldest.lastAccess) {
+                        oldestKey = candidate.getKey();
+                        oldest = candidate.getValue();
+                    }
+                }
+
+                if (oldest == null) {
+                    return;
+                }
+                if (entries.remove(oldestKey, oldest)) {
+                    evictions.increment();
+                    log.debug("Evicted least recently used entry from {} cache: {}", name, oldestKey);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private volatile long lastAccess;
+
+        private Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.token.cache;
+
+/**
+ * Point-in-time counters of a {@link BoundedCache}.
+ */
+public record CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,7 @@
+package com.project.token.exception;
+
+public class CircuitOpenException extends RuntimeException {
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
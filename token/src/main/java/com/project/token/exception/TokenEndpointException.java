@@ -0,0 +1,29 @@
+package com.project.token.exception;
+
+public class TokenEndpointException extends RuntimeException {
+
+    private final int statusCode;
+
+    public TokenEndpointException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * True when the endpoint rejected the client credentials rather than failing on its own.
+     */
+    public boolean isAuthenticationFailure() {
+        return statusCode == 401;
+    }
+
+    /**
+     * True for throttling and server errors, which say something about the endpoint's health and may succeed on retry.
+     */
+    public boolean isTransient() {
+        return statusCode == 429 || statusCode >= 500;
+    }
+}
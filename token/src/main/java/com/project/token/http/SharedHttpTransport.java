@@ -0,0 +1,197 @@
+package com.project.token.http;
+
+import com.project.token.util.TrustMaterial;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.net.ssl.SSLSessionContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * The one {@link HttpClient} used by the token and service modules, so a cold environment pays for a single
+ * connection pool, DNS lookup and TLS handshake per host.
+ * <p>
+ * The client prefers HTTP/2 and falls back to HTTP/1.1 through ALPN when the peer does not support it, never
+ * follows redirects (the OAuth request carries client credentials), reuses
+ * idle connections for {@code HTTP_KEEPALIVE_SECONDS} (default 60), resumes TLS sessions from the shared
+ * {@link TrustMaterial} context, and runs response handling on virtual threads unless
+ * {@code HTTP_CLIENT_EXECUTOR=default}.
+ * <p>
+ * Requests sent through {@link #sendAsync} report time to first byte and total time to the registered
+ * {@link Listener}s. {@code java.net.http} does not expose connect or handshake events, so connection set-up
+ * is part of the time to first byte of the first request to a host.
+ */
+public final class SharedHttpTransport {
+
+    private static final Logger log = LogManager.getLogger(SharedHttpTransport.class);
+
+    private static final String KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+    private static final String H2_KEEPALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout.h2";
+
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    private static volatile HttpClient client;
+
+    private SharedHttpTransport() {
+    }
+
+    public static HttpClient client() {
+        HttpClient current = client;
+        if (current == null) {
+            synchronized (SharedHttpTransport.class) {
+                current = client;
+                if (current == null) {
+                    current = build();
+                    client = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Replaces the shared client with a new one and shuts the old one down, dropping its pooled connections.
+     * Called before a SnapStart checkpoint: connections captured in the snapshot would refer to sockets of the
+     * snapshotted environment, so reusing them after a restore would only fail on the request path.
+     */
+    public static void renew() {
+        HttpClient previous;
+        synchronized (SharedHttpTransport.class) {
+            previous = client;
+            client = build();
+        }
+        if (previous != null) {
+            previous.shutdownNow();
+            log.info("Previous HTTP client shut down");
+        }
+    }
+
+    /**
+     * Sends the request on the shared client and reports its timings once the response body is complete.
+     */
+    public static <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                                   HttpResponse.BodyHandler<T> bodyHandler) {
+        HttpClient client = client();
+        long startNanos = System.nanoTime();
+        long[] firstByteNanos = {-1};
+
+        HttpResponse.BodyHandler<T> timedHandler = responseInfo -> {
+            firstByteNanos[0] = System.nanoTime() - startNanos;
+            return bodyHandler.apply(responseInfo);
+        };
+
+        return client.sendAsync(request, timedHandler).whenComplete((response, error) -> notifyListeners(
+                new Exchange(request.method(), request.uri(),
+                        response != null ? response.version() : null,
+                        response != null ? response.statusCode() : -1,
+                        firstByteNanos[0], System.nanoTime() - startNanos, error)));
+    }
+
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    static HttpClient build() {
+        long startTime = System.nanoTime();
+
+        // Read by the JDK's connection pool when the first client is created; an explicit -D flag wins
+        String keepAlive = String.valueOf(getIntEnv("HTTP_KEEPALIVE_SECONDS", 60));
+        if (System.getProperty(KEEPALIVE_PROPERTY) == null) {
+            System.setProperty(KEEPALIVE_PROPERTY, keepAlive);
+        }
+        if (System.getProperty(H2_KEEPALIVE_PROPERTY) == null) {
+            System.setProperty(H2_KEEPALIVE_PROPERTY, keepAlive);
+        }
+
+        SSLSessionContext sessions = TrustMaterial.sslContext().getClientSessionContext();
+        sessions.setSessionCacheSize(getIntEnv("HTTP_TLS_SESSION_CACHE_SIZE", 256));
+        sessions.setSessionTimeout(getIntEnv("HTTP_TLS_SESSION_TIMEOUT_SECONDS", 3600));
+
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .sslContext(TrustMaterial.sslContext())
+                .connectTimeout(Duration.ofSeconds(getIntEnv("HTTP_CONNECT_TIMEOUT_SECONDS", 30)));
+
+        Executor executor = executor();
+        if (executor != null) {
+            builder.executor(executor);
+        }
+
+        HttpClient client = builder.build();
+        log.info("Shared HTTP transport initialized in {} ms (keep-alive: {} s, executor: {})",
+                (System.nanoTime() - startTime) / 1_000_000, keepAlive,
+                executor != null ? "virtual threads" : "default");
+        return client;
+    }
+
+    private static Executor executor() {
+        if ("default".equalsIgnoreCase(System.getenv("HTTP_CLIENT_EXECUTOR"))) {
+            return null;
+        }
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    private static void notifyListeners(Exchange exchange) {
+        log.debug("{} {} -> {} ({}), first byte: {} ms, total: {} ms",
+                exchange.method(), exchange.uri(), exchange.statusCode(), exchange.version(),
+                exchange.timeToFirstByteMillis(), exchange.totalMillis());
+
+        for (Listener listener : LISTENERS) {
+            try {
+                listener.onExchange(exchange);
+            } catch (RuntimeException e) {
+                log.warn("HTTP timing listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static int getIntEnv(String name, int defaultValue) {
+        try {
+            return Integer.parseInt(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Receives the timings of every request sent through {@link #sendAsync}.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onExchange(Exchange exchange);
+    }
+
+    /**
+     * Timings of one request. {@code timeToFirstByteNanos} is {@code -1} and {@code version} is {@code null}
+     * when no response headers arrived.
+     */
+    public record Exchange(String method,
+                           URI uri,
+                           HttpClient.Version version,
+                           int statusCode,
+                           long timeToFirstByteNanos,
+                           long totalNanos,
+                           Throwable error) {
+
+        public long timeToFirstByteMillis() {
+            return timeToFirstByteNanos < 0 ? -1 : timeToFirstByteNanos / 1_000_000;
+        }
+
+        public long totalMillis() {
+            return totalNanos / 1_000_000;
+        }
+    }
+}
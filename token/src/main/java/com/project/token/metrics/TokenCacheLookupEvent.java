@@ -0,0 +1,25 @@
+package com.project.token.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for each token cache lookup.
+ */
+@Name("com.project.token.CacheLookup")
+@Label("Token Cache Lookup")
+@Category({"Project", "Token"})
+@Description("Bearer token cache lookup and whether a usable token was found")
+@StackTrace(false)
+public class TokenCacheLookupEvent extends Event {
+
+    @Label("Secret Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+}
@@ -0,0 +1,258 @@
+package com.project.token.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers for the token provider, published as CloudWatch Embedded Metric Format (EMF) lines
+ * on stdout and as JFR events.
+ * <p>
+ * Values are aggregated in memory and written as one EMF document per {@code TOKEN_METRICS_FLUSH_SECONDS}
+ * (default 60), checked whenever something is recorded, or whenever {@link #flush()} is called. Lambda handlers
+ * flush at the end of every invocation, since an environment can be frozen or shut down before the next
+ * record arrives. A document is stamped with the time of its first value, so it lands in the minute it was
+ * recorded in. Latencies are emitted as value arrays (up to 100 per window) so CloudWatch can
+ * compute percentiles. {@code TOKEN_METRICS_ENABLED=false} turns EMF output off; JFR events are only
+ * recorded while a recording is running.
+ */
+public final class TokenMetrics {
+
+    private static final Logger log = LogManager.getLogger(TokenMetrics.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_SAMPLES_PER_WINDOW = 100;
+
+    public enum Counter {
+        CACHE_HIT("TokenCacheHit"),
+        CACHE_MISS("TokenCacheMiss"),
+        REFRESH("TokenRefresh"),
+        REFRESH_FAILURE("TokenRefreshFailure"),
+        SECRETS_MANAGER_FAILURE("SecretsManagerFailure"),
+        OAUTH_FAILURE("OAuthFailure"),
+        STALE_FALLBACK("TokenStaleFallback"),
+        CIRCUIT_REJECTED("TokenCircuitRejected");
+
+        private final String metricName;
+
+        Counter(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    public enum Timer {
+        SECRETS_MANAGER("SecretsManagerLatency", Counter.SECRETS_MANAGER_FAILURE),
+        OAUTH("OAuthLatency", Counter.OAUTH_FAILURE);
+
+        private final String metricName;
+        private final Counter failureCounter;
+
+        Timer(String metricName, Counter failureCounter) {
+            this.metricName = metricName;
+            this.failureCounter = failureCounter;
+        }
+    }
+
+    private final boolean enabled;
+    private final String namespace;
+    private final String service;
+    private final long flushIntervalMillis;
+    private final PrintStream out;
+
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private final Map<Timer, List<Long>> samples = new EnumMap<>(Timer.class);
+    private final AtomicLong lastFlush = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong windowStart = new AtomicLong();
+
+    TokenMetrics(boolean enabled, String namespace, String service, long flushIntervalMillis, PrintStream out) {
+        this.enabled = enabled;
+        this.namespace = namespace;
+        this.service = service;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.out = out;
+
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+        for (Timer timer : Timer.values()) {
+            samples.put(timer, new ArrayList<>());
+        }
+    }
+
+    public static TokenMetrics fromEnvironment() {
+        boolean enabled = !"false".equalsIgnoreCase(System.getenv("TOKEN_METRICS_ENABLED"));
+        String namespace = getEnv("POWERTOOLS_METRICS_NAMESPACE", "Token");
+        String service = getEnv("POWERTOOLS_SERVICE_NAME", "token");
+
+        long flushSeconds;
+        try {
+            flushSeconds = Long.parseLong(System.getenv("TOKEN_METRICS_FLUSH_SECONDS"));
+        } catch (Exception e) {
+            flushSeconds = 60;
+        }
+
+        return new TokenMetrics(enabled, namespace, service, TimeUnit.SECONDS.toMillis(flushSeconds), System.out);
+    }
+
+    public void increment(Counter counter) {
+        startWindow();
+        counters.get(counter).increment();
+        maybeFlush();
+    }
+
+    public void cacheLookup(String key, boolean hit) {
+        TokenCacheLookupEvent event = new TokenCacheLookupEvent();
+        if (event.isEnabled()) {
+            event.key = key;
+            event.hit = hit;
+            event.commit();
+        }
+        increment(hit ? Counter.CACHE_HIT : Counter.CACHE_MISS);
+    }
+
+    /**
+     * Starts timing an upstream call; the returned handle must be completed exactly once.
+     */
+    public UpstreamCall startCall(Timer timer, String key) {
+        return new UpstreamCall(timer, key);
+    }
+
+    /**
+     * Returns the value recorded since the last flush.
+     */
+    public long count(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * Writes everything recorded since the last flush as one EMF document. Does nothing if nothing was recorded.
+     */
+    public void flush() {
+        lastFlush.set(System.currentTimeMillis());
+        long firstRecorded = windowStart.getAndSet(0);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            long value = counters.get(counter).sumThenReset();
+            if (value > 0) {
+                values.put(counter.metricName, value);
+            }
+        }
+        for (Timer timer : Timer.values()) {
+            List<Long> window = samples.get(timer);
+            synchronized (window) {
+                if (!window.isEmpty()) {
+                    values.put(timer.metricName, new ArrayList<>(window));
+                    window.clear();
+                }
+            }
+        }
+
+        if (!enabled || values.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, String>> definitions = new ArrayList<>();
+        for (String name : values.keySet()) {
+            definitions.add(Map.of("Name", name, "Unit", name.endsWith("Latency") ? "Milliseconds" : "Count"));
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("_aws", Map.of(
+                "Timestamp", firstRecorded != 0 ? firstRecorded : System.currentTimeMillis(),
+                "CloudWatchMetrics", List.of(Map.of(
+                        "Namespace", namespace,
+                        "Dimensions", List.of(List.of("Service")),
+                        "Metrics", definitions))));
+        document.put("Service", service);
+        document.putAll(values);
+
+        try {
+            String line = MAPPER.writeValueAsString(document);
+            synchronized (out) {
+                out.println(line);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to write token metrics: {}", e.getMessage());
+        }
+    }
+
+    private void record(Timer timer, long latencyMillis) {
+        startWindow();
+        List<Long> window = samples.get(timer);
+        synchronized (window) {
+            if (window.size() < MAX_SAMPLES_PER_WINDOW) {
+                window.add(latencyMillis);
+            }
+        }
+        maybeFlush();
+    }
+
+    private void startWindow() {
+        if (windowStart.get() == 0) {
+            windowStart.compareAndSet(0, System.currentTimeMillis());
+        }
+    }
+
+    private void maybeFlush() {
+        long last = lastFlush.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= flushIntervalMillis && lastFlush.compareAndSet(last, now)) {
+            flush();
+        }
+    }
+
+    private static String getEnv(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+
+    /**
+     * Timing handle for one Secrets Manager or OAuth call.
+     */
+    public final class UpstreamCall {
+
+        private final Timer timer;
+        private final TokenUpstreamCallEvent event = new TokenUpstreamCallEvent();
+        private final long startNanos = System.nanoTime();
+
+        private UpstreamCall(Timer timer, String key) {
+            this.timer = timer;
+            if (event.isEnabled()) {
+                event.operation = timer.metricName.replace("Latency", "");
+                event.key = key;
+                event.begin();
+            }
+        }
+
+        public void success() {
+            end(true);
+        }
+
+        public void failure() {
+            end(false);
+        }
+
+        private void end(boolean success) {
+            if (event.isEnabled()) {
+                event.success = success;
+                event.commit();
+            }
+            if (success) {
+                record(timer, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            } else {
+                increment(timer.failureCounter);
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.token.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for each call the token provider makes to Secrets Manager or the OAuth endpoint.
+ */
+@Name("com.project.token.UpstreamCall")
+@Label("Token Upstream Call")
+@Category({"Project", "Token"})
+@Description("Secrets Manager or OAuth endpoint call made by the token provider")
+@StackTrace(false)
+public class TokenUpstreamCallEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Secret Key")
+    public String key;
+
+    @Label("Success")
+    public boolean success;
+}
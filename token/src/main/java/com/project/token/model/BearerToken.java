@@ -0,0 +1,37 @@
+package com.project.token.model;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * An OAuth2 access token together with the window in which it is valid.
+ *
+ * @param accessToken the bearer token value
+ * @param issuedAt    when the token was requested; used as the start of its lifetime
+ * @param expiresAt   when the authorization server stops accepting the token
+ */
+public record BearerToken(String accessToken, Instant issuedAt, Instant expiresAt) {
+
+    public BearerToken {
+        if (accessToken == null || accessToken.isEmpty()) {
+            throw new IllegalArgumentException("accessToken must not be empty");
+        }
+        if (issuedAt == null || expiresAt == null) {
+            throw new IllegalArgumentException("issuedAt and expiresAt are required");
+        }
+    }
+
+    public Duration lifetime() {
+        return Duration.between(issuedAt, expiresAt);
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        // Never log the token itself
+        return "BearerToken[length=" + accessToken.length() + ", issuedAt=" + issuedAt + ", expiresAt=" + expiresAt + "]";
+    }
+}
@@ -1,6 +1,15 @@
 package com.project.token.provider;
 
+import com.project.token.cache.BoundedCache;
+import com.project.token.cache.CacheStats;
+import com.project.token.exception.CircuitOpenException;
+import com.project.token.exception.TokenEndpointException;
+import com.project.token.metrics.TokenMetrics;
+import com.project.token.model.BearerToken;
+import com.project.token.resilience.AsyncResilience;
+import com.project.token.resilience.CircuitBreaker;
 import com.project.token.transformer.ApigeeBearerTransformer;
+import com.project.token.util.SingleFlight;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.core.SdkSystemSetting;
@@ -9,23 +18,73 @@ import software.amazon.awssdk.core.client.config.SdkAdvancedClientOption;
 import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
 import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
 import software.amazon.lambda.powertools.parameters.BaseProvider;
 import software.amazon.lambda.powertools.parameters.cache.CacheManager;
 import software.amazon.lambda.powertools.parameters.transform.TransformationManager;
 
 import java.nio.charset.StandardCharsets;
-import java.time.temporal.ChronoUnit;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Supplies OAuth2 bearer tokens obtained with client credentials stored in Secrets Manager.
+ * <p>
+ * Tokens are cached per secret until their real expiry ({@code expires_in} or the JWT {@code exp} claim)
+ * minus {@code TOKEN_EXPIRY_SAFETY_MARGIN_SECONDS} (default 60). Once {@code TOKEN_REFRESH_AHEAD_FRACTION}
+ * (default 0.75) of that window has passed, the next caller triggers a background refresh and keeps using
+ * the current token, so requests only wait on Secrets Manager and the OAuth endpoint when no valid token exists.
+ * Concurrent fetches for the same secret are coalesced into one; every waiter gets its result or its failure.
+ * <p>
+ * The client credentials are cached separately for {@code TOKEN_CREDENTIALS_TTL_SECONDS} (default 12 hours).
+ * Every {@code TOKEN_CREDENTIALS_CHECK_SECONDS} (default 15 minutes) a metadata-only {@code DescribeSecret}
+ * compares the {@code AWSCURRENT} version id, and a 401 from the token endpoint forces a reload, so a rotated
+ * secret is picked up without reading the secret value on every token refresh.
+ * <p>
+ * Both caches hold at most {@code TOKEN_CACHE_MAX_KEYS} (default 256) secrets and evict the least recently
+ * used one beyond that, so memory stays flat as the number of per-tenant credentials grows.
+ * <p>
+ * {@link #getTokenAsync(String)} offers the same behaviour without blocking the caller: the OAuth POST uses
+ * {@code HttpClient.sendAsync}, and the blocking Secrets Manager SDK call, when one is needed at all, runs
+ * on a small daemon pool.
+ * <p>
+ * Token requests go through a circuit breaker that opens after {@code TOKEN_BREAKER_FAILURE_THRESHOLD}
+ * (default 5) consecutive network, 429 or 5xx failures and stays open for {@code TOKEN_BREAKER_OPEN_SECONDS}
+ * (default 30). While the endpoint is failing, a cached token that has not actually expired is served even
+ * inside the safety margin, rather than failing the request.
+ * <p>
+ * Cache hits and misses, refreshes, Secrets Manager and OAuth latency and failures are recorded in
+ * {@link TokenMetrics} (EMF on stdout and JFR events) instead of being logged per call.
+ */
 public class SSMApigeeProvider extends BaseProvider {
 
     private static final Logger log = LogManager.getLogger(SSMApigeeProvider.class);
 
-    // Cache TTL: 55 minutes (3300 seconds)
-    private static final int CACHE_TTL_SECONDS = 3300;
+    private static final long SAFETY_MARGIN_SECONDS = getLongEnv("TOKEN_EXPIRY_SAFETY_MARGIN_SECONDS", 60);
+    private static final double REFRESH_AHEAD_FRACTION = getRefreshAheadFraction();
+    private static final Duration CREDENTIALS_TTL = Duration.ofSeconds(getLongEnv("TOKEN_CREDENTIALS_TTL_SECONDS", 43200));
+    private static final Duration CREDENTIALS_CHECK_INTERVAL =
+            Duration.ofSeconds(getLongEnv("TOKEN_CREDENTIALS_CHECK_SECONDS", 900));
+
+    private static final int CACHE_MAX_KEYS = (int) getLongEnv("TOKEN_CACHE_MAX_KEYS", 256);
+    private static final int BREAKER_FAILURE_THRESHOLD = (int) getLongEnv("TOKEN_BREAKER_FAILURE_THRESHOLD", 5);
+    private static final Duration BREAKER_OPEN_DURATION = Duration.ofSeconds(getLongEnv("TOKEN_BREAKER_OPEN_SECONDS", 30));
+
+    private static final String CURRENT_VERSION_STAGE = "AWSCURRENT";
 
     // Validate required environment variables at class load time
     private static final String AWS_REGION = getRequiredEnv(SdkSystemSetting.AWS_REGION.environmentVariable());
@@ -33,6 +92,21 @@ public class SSMApigeeProvider extends BaseProvider {
     private static final String TOKEN_ENDPOINT_URL = getRequiredEnv("TOKEN_ENDPOINT_URL");
 
     private final SecretsManagerClient client;
+    private final ApigeeBearerTransformer transformer;
+    private final Clock clock;
+    private final CircuitBreaker breaker;
+    private final TokenMetrics metrics;
+
+    private final BoundedCache<String, CachedToken> tokens = new BoundedCache<>("token", CACHE_MAX_KEYS);
+    private final BoundedCache<String, CachedCredentials> credentials = new BoundedCache<>("credentials", CACHE_MAX_KEYS);
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final SingleFlight<String, BearerToken> fetches = new SingleFlight<>();
+    private final AtomicInteger backgroundThreads = new AtomicInteger();
+    private final ExecutorService backgroundExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "token-background-" + backgroundThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private static String getRequiredEnv(String name) {
         String val = System.getenv(name);
@@ -47,15 +121,37 @@ public class SSMApigeeProvider extends BaseProvider {
         return val;
     }
 
+    private static long getLongEnv(String name, long defaultValue) {
+        try {
+            return Long.parseLong(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
+    private static double getRefreshAheadFraction() {
+        try {
+            double fraction = Double.parseDouble(System.getenv("TOKEN_REFRESH_AHEAD_FRACTION"));
+            return fraction > 0 && fraction < 1 ? fraction : 0.75;
+        } catch (Exception e) {
+            return 0.75;
+        }
+    }
+
     private SSMApigeeProvider(CacheManager cacheManager,
                               SecretsManagerClient client,
-                              TransformationManager transformationManager) {
+                              TransformationManager transformationManager,
+                              ApigeeBearerTransformer transformer,
+                              Clock clock,
+                              TokenMetrics metrics) {
         super(cacheManager, transformationManager);
         this.client = client;
-        super.withMaxAge(CACHE_TTL_SECONDS, ChronoUnit.SECONDS);
-        super.withTransformation(ApigeeBearerTransformer.class);
-        log.info("SSMApigeeProvider initialized with Powertools caching (TTL: {} seconds / {} minutes)",
-                CACHE_TTL_SECONDS, CACHE_TTL_SECONDS / 60);
+        this.transformer = transformer;
+        this.clock = clock;
+        this.metrics = metrics;
+        this.breaker = new CircuitBreaker("oauth-token-endpoint", BREAKER_FAILURE_THRESHOLD, BREAKER_OPEN_DURATION, clock);
+        log.info("SSMApigeeProvider initialized with expiry-aware token cache (safety margin: {} seconds, refresh ahead at: {}%, max keys: {})",
+                SAFETY_MARGIN_SECONDS, Math.round(REFRESH_AHEAD_FRACTION * 100), CACHE_MAX_KEYS);
     }
 
     public static Builder builder() {
@@ -68,42 +164,339 @@ public class SSMApigeeProvider extends BaseProvider {
 
 
     public String getToken(String secretKey) {
-        String key = (secretKey == null || secretKey.trim().isEmpty())
-                ? TOKEN_SECRET_NAME : secretKey;
+        String key = resolveKey(secretKey);
+
+        BearerToken cached = cachedToken(key);
+        if (cached != null) {
+            return cached.accessToken();
+        }
 
         long startTime = System.currentTimeMillis();
-        log.debug("Requesting OAuth2 token for key: {}", key);
+        log.debug("No valid cached OAuth2 token for key: {}, fetching", key);
+
+        BearerToken token;
+        try {
+            token = fetches.execute(key, () -> {
+                // A fetch that completed just before this one started has already refreshed the cache
+                CachedToken current = tokens.peek(key);
+                if (current != null && clock.instant().isBefore(current.staleAt())) {
+                    return current.token();
+                }
+
+                return fetchAndCache(key);
+            });
+        } catch (RuntimeException e) {
+            token = stillValidToken(key, e);
+        }
 
-        String token = super.get(key);
+        log.debug("OAuth2 bearer token obtained for key: {} after {} ms", key, System.currentTimeMillis() - startTime);
+        return token.accessToken();
+    }
+
+    /**
+     * Non-blocking {@link #getToken(String)}. A cached token completes immediately; otherwise the future
+     * completes when the coalesced fetch for the key does.
+     */
+    public CompletableFuture<String> getTokenAsync(String secretKey) {
+        String key = resolveKey(secretKey);
 
-        long totalTime = System.currentTimeMillis() - startTime;
+        BearerToken cached = cachedToken(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.accessToken());
+        }
 
-        if (totalTime < 100) {
-            log.info("OAuth2 bearer token retrieved from Powertools CACHE (fetch time: {} ms)", totalTime);
+        log.debug("No valid cached OAuth2 token for key: {}, fetching asynchronously", key);
+
+        return fetches.executeAsync(key, () -> {
+            CachedToken current = tokens.peek(key);
+            if (current != null && clock.instant().isBefore(current.staleAt())) {
+                return CompletableFuture.completedFuture(current.token());
+            }
+
+            return fetchAndCacheAsync(key);
+        }).handle((token, error) -> error == null ? token : stillValidToken(key, AsyncResilience.unwrap(error)))
+                .thenApply(BearerToken::accessToken);
+    }
+
+    /**
+     * Drops the cached token for the key so the next call fetches a new one.
+     */
+    public void invalidate(String secretKey) {
+        tokens.remove(resolveKey(secretKey));
+    }
+
+    public CacheStats tokenCacheStats() {
+        return tokens.stats();
+    }
+
+    public CacheStats credentialsCacheStats() {
+        return credentials.stats();
+    }
+
+    public TokenMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * The secret whose credentials back tokens for {@code secretKey}, i.e. the token's auth scope.
+     */
+    public static String resolveKey(String secretKey) {
+        return (secretKey == null || secretKey.trim().isEmpty()) ? TOKEN_SECRET_NAME : secretKey;
+    }
+
+    /**
+     * Returns the cached token if it may still be served, starting a background refresh when it is due.
+     */
+    private BearerToken cachedToken(String key) {
+        Instant now = clock.instant();
+        CachedToken cached = tokens.get(key);
+
+        if (cached == null || !now.isBefore(cached.staleAt())) {
+            metrics.cacheLookup(key, false);
+            return null;
+        }
+        if (!now.isBefore(cached.refreshAt())) {
+            refreshInBackground(key);
+        }
+        metrics.cacheLookup(key, true);
+        return cached.token();
+    }
+
+    /**
+     * Falls back to a cached token that is inside the safety margin but not yet expired; rethrows otherwise.
+     */
+    private BearerToken stillValidToken(String key, Throwable error) {
+        CachedToken cached = tokens.peek(key);
+        if (cached == null || cached.token().isExpiredAt(clock.instant())) {
+            if (error instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new CompletionException(error);
+        }
+
+        metrics.increment(TokenMetrics.Counter.STALE_FALLBACK);
+        log.warn("OAuth2 token endpoint unavailable ({}), serving cached token valid until {}",
+                error.getMessage(), cached.token().expiresAt());
+        return cached.token();
+    }
+
+    private BearerToken fetchAndCache(String key) {
+        BearerToken token;
+        try {
+            token = requestToken(key, credentialsFor(key));
+        } catch (TokenEndpointException e) {
+            token = requestToken(key, reloadRotatedCredentials(key, e));
+        }
+        return cache(key, token);
+    }
+
+    private CompletableFuture<BearerToken> fetchAndCacheAsync(String key) {
+        return credentialsForAsync(key)
+                .thenCompose(credentials -> requestTokenAsync(key, credentials))
+                .exceptionallyCompose(error -> {
+                    Throwable cause = AsyncResilience.unwrap(error);
+                    if (!(cause instanceof TokenEndpointException endpointError)) {
+                        return CompletableFuture.failedFuture(cause);
+                    }
+                    return CompletableFuture
+                            .supplyAsync(() -> reloadRotatedCredentials(key, endpointError), backgroundExecutor)
+                            .thenCompose(credentials -> requestTokenAsync(key, credentials));
+                })
+                .thenApply(token -> cache(key, token));
+    }
+
+    private BearerToken requestToken(String key, String credentials) {
+        if (!breaker.tryAcquire()) {
+            metrics.increment(TokenMetrics.Counter.CIRCUIT_REJECTED);
+            throw new CircuitOpenException("OAuth2 token endpoint circuit is open");
+        }
+
+        TokenMetrics.UpstreamCall call = metrics.startCall(TokenMetrics.Timer.OAUTH, key);
+        try {
+            BearerToken token = transformer.fetchToken(credentials);
+            call.success();
+            breaker.onSuccess();
+            return token;
+        } catch (RuntimeException e) {
+            call.failure();
+            recordFailure(e);
+            throw e;
+        }
+    }
+
+    private CompletableFuture<BearerToken> requestTokenAsync(String key, String credentials) {
+        if (!breaker.tryAcquire()) {
+            metrics.increment(TokenMetrics.Counter.CIRCUIT_REJECTED);
+            return CompletableFuture.failedFuture(new CircuitOpenException("OAuth2 token endpoint circuit is open"));
+        }
+
+        TokenMetrics.UpstreamCall call = metrics.startCall(TokenMetrics.Timer.OAUTH, key);
+        return transformer.fetchTokenAsync(credentials).whenComplete((token, error) -> {
+            if (error == null) {
+                call.success();
+                breaker.onSuccess();
+            } else {
+                call.failure();
+                recordFailure(AsyncResilience.unwrap(error));
+            }
+        });
+    }
+
+    private void recordFailure(Throwable error) {
+        // A rejected request still means the endpoint is up and answering
+        if (error instanceof TokenEndpointException endpointError && !endpointError.isTransient()) {
+            breaker.onSuccess();
         } else {
-            log.info("OAuth2 bearer token fetched fresh and CACHED by Powertools (fetch time: {} ms)", totalTime);
+            breaker.onFailure();
         }
+    }
 
+    private BearerToken cache(String key, BearerToken token) {
+        tokens.put(key, CachedToken.of(token, SAFETY_MARGIN_SECONDS, REFRESH_AHEAD_FRACTION));
         return token;
     }
 
+    /**
+     * On a 401, reloads the secret and returns the new credentials if it was rotated; otherwise rethrows.
+     */
+    private String reloadRotatedCredentials(String key, TokenEndpointException e) {
+        if (!e.isAuthenticationFailure()) {
+            throw e;
+        }
+
+        // The secret may have been rotated since the credentials were cached
+        CachedCredentials previous = credentials.remove(key);
+        CachedCredentials reloaded = loadCredentials(key);
+        if (previous == null || Objects.equals(previous.versionId(), reloaded.versionId())) {
+            throw e;
+        }
+
+        log.info("Credentials for {} were rotated (version {} -> {}), retrying token request",
+                key, previous.versionId(), reloaded.versionId());
+        return reloaded.value();
+    }
+
+    /**
+     * Completes immediately when the cached credentials need no Secrets Manager call; otherwise runs the
+     * blocking lookup on the background pool.
+     */
+    private CompletableFuture<String> credentialsForAsync(String key) {
+        CachedCredentials cached = credentials.peek(key);
+        Instant now = clock.instant();
+
+        if (cached != null
+                && now.isBefore(cached.fetchedAt().plus(CREDENTIALS_TTL))
+                && now.isBefore(cached.checkedAt().plus(CREDENTIALS_CHECK_INTERVAL))) {
+            return CompletableFuture.completedFuture(cached.value());
+        }
+        return CompletableFuture.supplyAsync(() -> credentialsFor(key), backgroundExecutor);
+    }
+
+    /**
+     * Returns the client credentials for the key, reading the secret value only when the cached copy
+     * has expired or a newer version has been published.
+     */
+    private String credentialsFor(String key) {
+        Instant now = clock.instant();
+        CachedCredentials cached = credentials.peek(key);
+
+        if (cached != null && now.isBefore(cached.fetchedAt().plus(CREDENTIALS_TTL))) {
+            if (now.isBefore(cached.checkedAt().plus(CREDENTIALS_CHECK_INTERVAL))) {
+                return cached.value();
+            }
+            if (isCurrentVersion(key, cached.versionId())) {
+                credentials.put(key, cached.checkedAt(now));
+                return cached.value();
+            }
+            log.info("Secret {} has a new version, reloading credentials", key);
+        }
+
+        return loadCredentials(key).value();
+    }
+
+    private CachedCredentials loadCredentials(String key) {
+        GetSecretValueResponse response = fetchSecret(key);
+        Instant now = clock.instant();
+        CachedCredentials loaded = new CachedCredentials(secretValueOf(response), response.versionId(), now, now);
+        credentials.put(key, loaded);
+        log.debug("Cached credentials for {} (version {})", key, loaded.versionId());
+        return loaded;
+    }
+
+    private boolean isCurrentVersion(String key, String versionId) {
+        if (versionId == null) {
+            return false;
+        }
+
+        TokenMetrics.UpstreamCall call = metrics.startCall(TokenMetrics.Timer.SECRETS_MANAGER, key);
+        try {
+            Map<String, List<String>> stages = client.describeSecret(DescribeSecretRequest.builder()
+                    .secretId(key)
+                    .build()).versionIdsToStages();
+            call.success();
+
+            List<String> versionStages = stages.get(versionId);
+            return versionStages != null && versionStages.contains(CURRENT_VERSION_STAGE);
+        } catch (Exception e) {
+            call.failure();
+            // Keep the cached credentials until their TTL; a 401 still forces a reload
+            log.warn("Could not check version of secret {}: {}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    private void refreshInBackground(String key) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+
+        log.debug("Refreshing OAuth2 token ahead of expiry for key: {}", key);
+        try {
+            backgroundExecutor.execute(() -> {
+                try {
+                    fetches.execute(key, () -> fetchAndCache(key));
+                    metrics.increment(TokenMetrics.Counter.REFRESH);
+                    log.debug("OAuth2 bearer token refreshed ahead of expiry for key: {}", key);
+                } catch (Exception e) {
+                    metrics.increment(TokenMetrics.Counter.REFRESH_FAILURE);
+                    // The current token stays in use until it goes stale; the next caller retries
+                    log.warn("Background OAuth2 token refresh failed for key {}: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshing.remove(key);
+            log.warn("Could not schedule OAuth2 token refresh for key {}: {}", key, e.getMessage());
+        }
+    }
+
     @Override
     protected String getValue(String key) {
+        return secretValueOf(fetchSecret(key));
+    }
+
+    private GetSecretValueResponse fetchSecret(String key) {
         log.debug("Fetching secret from Secrets Manager: {}", key);
 
-        GetSecretValueRequest request = GetSecretValueRequest.builder()
-                .secretId(key)
-                .build();
+        TokenMetrics.UpstreamCall call = metrics.startCall(TokenMetrics.Timer.SECRETS_MANAGER, key);
+        try {
+            GetSecretValueResponse response = client.getSecretValue(GetSecretValueRequest.builder()
+                    .secretId(key)
+                    .build());
+            call.success();
+            return response;
+        } catch (RuntimeException e) {
+            call.failure();
+            throw e;
+        }
+    }
 
-        return Optional.ofNullable(client.getSecretValue(request).secretString())
-                .orElseGet(() -> new String(
-                        Base64.getDecoder().decode(
-                                client.getSecretValue(request)
-                                        .secretBinary()
-                                        .asByteArray()
-                        ),
-                        StandardCharsets.UTF_8
-                ));
+    private static String secretValueOf(GetSecretValueResponse response) {
+        if (response.secretString() != null) {
+            return response.secretString();
+        }
+        return new String(Base64.getDecoder().decode(response.secretBinary().asByteArray()), StandardCharsets.UTF_8);
     }
 
     @Override
@@ -117,10 +510,44 @@ public class SSMApigeeProvider extends BaseProvider {
         super.resetToDefaults();
     }
 
+    /**
+     * A token with the instants at which it should be refreshed and at which it must no longer be served.
+     */
+    record CachedToken(BearerToken token, Instant refreshAt, Instant staleAt) {
+
+        static CachedToken of(BearerToken token, long safetyMarginSeconds, double refreshAheadFraction) {
+            Duration lifetime = token.lifetime();
+            Duration margin = Duration.ofSeconds(safetyMarginSeconds);
+
+            // Very short-lived tokens would otherwise be stale on arrival
+            if (margin.compareTo(lifetime.dividedBy(2)) > 0) {
+                margin = lifetime.dividedBy(2);
+            }
+
+            Duration usable = lifetime.minus(margin);
+            Instant staleAt = token.issuedAt().plus(usable);
+            Instant refreshAt = token.issuedAt().plusMillis((long) (usable.toMillis() * refreshAheadFraction));
+            return new CachedToken(token, refreshAt, staleAt);
+        }
+    }
+
+    /**
+     * Client credentials read from Secrets Manager, with the version they came from.
+     */
+    record CachedCredentials(String value, String versionId, Instant fetchedAt, Instant checkedAt) {
+
+        CachedCredentials checkedAt(Instant instant) {
+            return new CachedCredentials(value, versionId, fetchedAt, instant);
+        }
+    }
+
     public static class Builder {
         private SecretsManagerClient client;
         private CacheManager cacheManager;
         private TransformationManager transformationManager;
+        private ApigeeBearerTransformer transformer;
+        private Clock clock;
+        private TokenMetrics metrics;
 
         private Builder() {
         }
@@ -152,6 +579,21 @@ public class SSMApigeeProvider extends BaseProvider {
             return this;
         }
 
+        public Builder withTransformer(ApigeeBearerTransformer transformer) {
+            this.transformer = transformer;
+            return this;
+        }
+
+        public Builder withMetrics(TokenMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        Builder withClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
         public SSMApigeeProvider build() {
             if (this.client == null) {
                 this.client = createDefaultClient();
@@ -165,7 +607,20 @@ public class SSMApigeeProvider extends BaseProvider {
                 this.transformationManager = new TransformationManager();
             }
 
-            return new SSMApigeeProvider(this.cacheManager, this.client, this.transformationManager);
+            if (this.transformer == null) {
+                this.transformer = new ApigeeBearerTransformer();
+            }
+
+            if (this.clock == null) {
+                this.clock = Clock.systemUTC();
+            }
+
+            if (this.metrics == null) {
+                this.metrics = TokenMetrics.fromEnvironment();
+            }
+
+            return new SSMApigeeProvider(this.cacheManager, this.client, this.transformationManager,
+                    this.transformer, this.clock, this.metrics);
         }
     }
 }
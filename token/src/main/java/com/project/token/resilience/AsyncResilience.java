@@ -0,0 +1,99 @@
+package com.project.token.resilience;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Retry and hedging combinators for calls that return a {@link CompletableFuture}. Waiting between
+ * attempts uses {@link CompletableFuture#delayedExecutor}, so no thread is parked during backoff.
+ */
+public final class AsyncResilience {
+
+    private AsyncResilience() {
+    }
+
+    /**
+     * Runs the call, retrying failures accepted by {@code retryable} according to the policy. The last
+     * failure is returned once attempts are exhausted.
+     */
+    public static <T> CompletableFuture<T> retry(Supplier<CompletableFuture<T>> call,
+                                                 RetryPolicy policy,
+                                                 Predicate<Throwable> retryable) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(call, policy, retryable, 1, 0, result);
+        return result;
+    }
+
+    /**
+     * Runs the call and, if it has not completed after {@code delayMillis}, starts one more identical call.
+     * The first success wins; the result fails only if every started call fails. A negative delay disables
+     * hedging.
+     *
+     * @param onHedge invoked when the second call is started
+     */
+    public static <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> call, long delayMillis,
+                                                 Runnable onHedge) {
+        if (delayMillis < 0) {
+            return start(call);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<T, Throwable> onComplete = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(unwrap(error));
+            }
+        };
+
+        start(call).whenComplete(onComplete);
+        CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            onHedge.run();
+            start(call).whenComplete(onComplete);
+        });
+        return result;
+    }
+
+    public static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static <T> void attempt(Supplier<CompletableFuture<T>> call, RetryPolicy policy,
+                                    Predicate<Throwable> retryable, int attemptNumber, long previousDelay,
+                                    CompletableFuture<T> result) {
+        start(call).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+
+            Throwable cause = unwrap(error);
+            if (attemptNumber >= policy.maxAttempts() || !retryable.test(cause)) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            long delay = policy.nextDelayMillis(previousDelay);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS).execute(() ->
+                    attempt(call, policy, retryable, attemptNumber + 1, delay, result));
+        });
+    }
+
+    private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.token.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window of recent call latencies, used to derive the hedging delay.
+ */
+public final class LatencyTracker {
+
+    private final long[] samples;
+    private final int minSamples;
+    private int next;
+    private int count;
+
+    public LatencyTracker(int windowSize, int minSamples) {
+        this.samples = new long[windowSize];
+        this.minSamples = Math.min(minSamples, windowSize);
+    }
+
+    public synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * Returns the given percentile (0-100) of the window, or {@code -1} until enough samples have been recorded.
+     */
+    public long percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (count < minSamples) {
+                return -1;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        }
+
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,33 @@
+package com.project.token.resilience;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Bounded retries with decorrelated jitter: each delay is drawn uniformly between the base delay and three
+ * times the previous delay, capped at {@code maxDelayMillis}. Concurrent callers that failed together spread
+ * out instead of retrying in lockstep.
+ */
+public record RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        if (baseDelayMillis < 1 || maxDelayMillis < baseDelayMillis) {
+            throw new IllegalArgumentException("Delays must satisfy 1 <= baseDelayMillis <= maxDelayMillis");
+        }
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 1, 1);
+    }
+
+    /**
+     * Delay before the next attempt, given the delay used before the previous one (0 for the first retry).
+     * The first retry waits between the base delay and three times the base delay.
+     */
+    public long nextDelayMillis(long previousDelayMillis) {
+        long upper = Math.max(previousDelayMillis, baseDelayMillis) * 3;
+        return Math.min(maxDelayMillis, ThreadLocalRandom.current().nextLong(baseDelayMillis, upper + 1));
+    }
+}
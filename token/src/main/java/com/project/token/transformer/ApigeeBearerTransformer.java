@@ -1,184 +1,255 @@
 package com.project.token.transformer;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.token.exception.TokenEndpointException;
+import com.project.token.http.SharedHttpTransport;
+import com.project.token.model.BearerToken;
+import com.project.token.resilience.AsyncResilience;
+import com.project.token.resilience.LatencyTracker;
+import com.project.token.resilience.RetryPolicy;
 import jakarta.validation.constraints.NotNull;
-import org.apache.hc.core5.ssl.SSLContexts;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import software.amazon.awssdk.http.HttpStatusCode;
 import software.amazon.lambda.powertools.parameters.exception.TransformationException;
 import software.amazon.lambda.powertools.parameters.transform.BasicTransformer;
 
-import javax.net.ssl.SSLContext;
 import java.io.*;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.security.KeyManagementException;
-import java.security.KeyStore;
-import java.security.KeyStoreException;
-import java.security.NoSuchAlgorithmException;
-import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ApigeeBearerTransformer extends BasicTransformer {
 
     private static final Logger log = LogManager.getLogger(ApigeeBearerTransformer.class);
 
-    private static final String TRUST_STORE_LOCATION = "/tmp/trustStore.jks";
     private static final String TOKEN_ENDPOINT_URL = getRequiredEnv("TOKEN_ENDPOINT_URL");
 
-    private final HttpClient httpClient;
+    // Lifetime assumed when the response carries neither expires_in nor a JWT exp claim
+    private static final long DEFAULT_EXPIRES_IN_SECONDS = 3600;
+
     private final ObjectMapper mapper;
     private final URI tokenEndpointUrl;
     private final int timeoutSeconds;
+    private final RetryPolicy retryPolicy;
+    private final boolean hedgingEnabled;
+    private final LatencyTracker latencies = new LatencyTracker(100, 20);
+    private final LongAdder hedgedRequests = new LongAdder();
 
     public ApigeeBearerTransformer() {
         this.tokenEndpointUrl = URI.create(TOKEN_ENDPOINT_URL);
+        this.timeoutSeconds = getTimeoutValue();
+        this.mapper = new ObjectMapper();
+        this.retryPolicy = new RetryPolicy(
+                getIntEnv("TOKEN_RETRY_MAX_ATTEMPTS", 3),
+                getIntEnv("TOKEN_RETRY_BASE_DELAY_MILLIS", 100),
+                getIntEnv("TOKEN_RETRY_MAX_DELAY_MILLIS", 2000));
+        this.hedgingEnabled = Boolean.parseBoolean(System.getenv("TOKEN_HEDGING_ENABLED"));
+
+        log.info("ApigeeBearerTransformer initialized successfully, endpoint: {}, max attempts: {}, hedging: {}",
+                this.tokenEndpointUrl, this.retryPolicy.maxAttempts(), this.hedgingEnabled);
+    }
 
-        SSLContext sslContext = null;
-
-        try {
-            KeyStore ks = KeyStore.getInstance("JKS");
-
-            String filename = System.getProperty("java.home")
-                    + "/lib/security/cacerts".replace('/', File.separatorChar);
-
-            try (InputStream fis = this.getClass().getResourceAsStream(filename);
-                 InputStream inputStream =
-                         this.getClass().getResourceAsStream("/root_ssl_cert.pem");
-                 FileOutputStream fos =
-                         new FileOutputStream(TRUST_STORE_LOCATION)) {
-
-                ks.load(fis, "".toCharArray());
-
-                ks.setCertificateEntry(
-                        "Root",
-                        CertificateFactory.getInstance("X.509")
-                                .generateCertificate(inputStream)
-                );
+    private static String getRequiredEnv(String key) {
+        String value = System.getenv(key);
+        if (value == null || value.trim().isEmpty()) {
+            value = System.getProperty(key);
+        }
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Required environment variable '" + key + "' is not set");
+        }
+        return value;
+    }
 
-                ks.store(fos, "".toCharArray());
+    @Override
+    public String applyTransformation(String value) {
+        return fetchToken(value).accessToken();
+    }
 
-                System.setProperty("javax.net.ssl.trustStore", TRUST_STORE_LOCATION);
-                System.setProperty("javax.net.ssl.trustStorePassword", "");
+    /**
+     * Exchanges the client credentials held in the secret for a bearer token and reports how long it is valid.
+     * The lifetime comes from {@code expires_in}, then from the JWT {@code exp} claim, and falls back to one hour.
+     */
+    public BearerToken fetchToken(String value) {
+        try {
+            return fetchTokenAsync(value).join();
+        } catch (RuntimeException e) {
+            Throwable cause = AsyncResilience.unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
             }
-        } catch (IOException | CertificateException | NoSuchAlgorithmException e) {
-            log.error("Failed to create keystore with provided certificate: {}", e.getMessage());
-            throw new RuntimeException(e);
-        } catch (KeyStoreException e) {
-            log.error("Failed to instantiate keystore: {}", e.getMessage());
-            throw new RuntimeException(e);
+            throw new RuntimeException("Exception while attempting to call OAuth2 endpoint", cause);
         }
+    }
 
+    /**
+     * Non-blocking variant of {@link #fetchToken(String)}: the POST and the response parsing run on the
+     * {@link SharedHttpTransport} executor, so no caller thread waits for the token endpoint.
+     * <p>
+     * Network errors, 429 and 5xx responses are retried up to {@code TOKEN_RETRY_MAX_ATTEMPTS} (default 3)
+     * with decorrelated jitter. With {@code TOKEN_HEDGING_ENABLED=true}, an attempt still running after the
+     * recent p95 latency is raced against a second identical request; a client credentials grant has no
+     * side effects beyond issuing one more token.
+     */
+    public CompletableFuture<BearerToken> fetchTokenAsync(String value) {
+        HttpRequest request;
         try {
-            sslContext = SSLContexts.custom()
-                    .setProtocol("TLSv1.2")
-                    .loadTrustMaterial(null, (X509Certificate[] chain, String authType) -> true)
-                    .build();
-        } catch (KeyStoreException | NoSuchAlgorithmException | KeyManagementException e) {
-            log.error("Failed to create custom SSL context: {}", e.getMessage());
-            throw new RuntimeException(e);
+            request = buildTokenRequest(parseCredentials(value));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
 
-        if (sslContext == null) {
-            log.warn("Custom SSL context is null, using default SSL context");
-            try {
-                sslContext = SSLContext.getDefault();
-            } catch (NoSuchAlgorithmException e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        this.httpClient = HttpClient.newBuilder()
-                .sslContext(sslContext)
-                .build();
+        return AsyncResilience.retry(
+                () -> AsyncResilience.hedge(() -> sendOnce(request), hedgeDelayMillis(), this::onHedge),
+                retryPolicy,
+                ApigeeBearerTransformer::isRetryable);
+    }
 
-        this.timeoutSeconds = getTimeoutValue();
-        this.mapper = new ObjectMapper();
+    /**
+     * Number of hedged second requests sent so far.
+     */
+    public long hedgedRequestCount() {
+        return hedgedRequests.sum();
+    }
 
-        log.info("ApigeeBearerTransformer initialized successfully, endpoint: {}", this.tokenEndpointUrl);
+    private CompletableFuture<BearerToken> sendOnce(HttpRequest request) {
+        Instant issuedAt = Instant.now();
+        long startTime = System.nanoTime();
+
+        return SharedHttpTransport.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.error("Failed to call OAuth2 endpoint at {}: {}",
+                                this.tokenEndpointUrl, error.getMessage());
+                    } else {
+                        latencies.record((System.nanoTime() - startTime) / 1_000_000);
+                    }
+                })
+                .thenApply(response -> toBearerToken(response, issuedAt));
     }
 
-    private static String getRequiredEnv(String key) {
-        String value = System.getenv(key);
-        if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException("Required environment variable '" + key + "' is not set");
+    private long hedgeDelayMillis() {
+        if (!hedgingEnabled) {
+            return -1;
         }
-        return value;
+        long p95 = latencies.percentile(95);
+        return p95 < 0 ? -1 : Math.max(p95, 10);
     }
 
-    @Override
-    public String applyTransformation(String value) {
-        ApigeeAuthToken token;
+    private void onHedge() {
+        hedgedRequests.increment();
+        log.debug("OAuth2 token request slower than p95, sending hedged request");
+    }
 
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof TokenEndpointException endpointError) {
+            return endpointError.isTransient();
+        }
+        return error instanceof IOException;
+    }
+
+    private ApigeeAuthToken parseCredentials(String value) {
         try {
-            token = mapper.readValue(value, ApigeeAuthToken.class);
+            ApigeeAuthToken token = mapper.readValue(value, ApigeeAuthToken.class);
             log.debug("Parsed OAuth2 credentials - username present: {}, password present: {}",
                     (token.userName() != null && !token.userName().isEmpty()),
                     (token.password() != null && !token.password().isEmpty()));
+            return token;
         } catch (Exception e) {
             log.error("Failed to parse OAuth2 credentials from secret: {}", e.getMessage());
             throw new TransformationException(e);
         }
+    }
+
+    private HttpRequest buildTokenRequest(ApigeeAuthToken token) {
+        log.debug("Sending OAuth2 token request to endpoint: {}", this.tokenEndpointUrl);
+
+        // Create fresh request for each invocation (HttpRequest.Builder cannot be reused).
+        // The protocol is left to the shared client: HTTP/2 when the endpoint negotiates it, HTTP/1.1 otherwise.
+        return HttpRequest.newBuilder()
+                .uri(this.tokenEndpointUrl)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .header("Authorization", getBasicAuthorization(token))
+                .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials"))
+                .timeout(Duration.of(this.timeoutSeconds, ChronoUnit.SECONDS))
+                .build();
+    }
+
+    private BearerToken toBearerToken(HttpResponse<String> response, Instant issuedAt) {
+        if (HttpStatusCode.OK != response.statusCode()) {
+            int statusCode = response.statusCode();
+            String responseBody = response.body();
+            log.error("OAuth2 endpoint returned error - status: {}, response: {}",
+                    statusCode, responseBody);
+            throw new TokenEndpointException(statusCode,
+                    "Error received from OAuth2 endpoint. Status: " + statusCode + ", Response: " + responseBody);
+        }
+
+        String responseBody = response.body();
+        log.info("Successfully retrieved OAuth2 response from endpoint: {}", this.tokenEndpointUrl);
+        log.debug("OAuth2 response body: {}", responseBody);
 
         try {
-            log.debug("Sending OAuth2 token request to endpoint: {}", this.tokenEndpointUrl);
-
-            // Create fresh request for each invocation (HttpRequest.Builder cannot be reused)
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(this.tokenEndpointUrl)
-                    .version(HttpClient.Version.HTTP_2)
-                    .header("Content-Type", "application/x-www-form-urlencoded")
-                    .header("Authorization", getBasicAuthorization(token))
-                    .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials"))
-                    .timeout(Duration.of(this.timeoutSeconds, ChronoUnit.SECONDS))
-                    .build();
-
-            HttpResponse<String> response = this.httpClient.send(
-                    request,
-                    HttpResponse.BodyHandlers.ofString()
-            );
-
-            if (HttpStatusCode.OK == response.statusCode()) {
-                String responseBody = response.body();
-                log.info("Successfully retrieved OAuth2 response from endpoint: {}", this.tokenEndpointUrl);
-                log.debug("OAuth2 response body: {}", responseBody);
-
-                try {
-                    ApigeeOauthResponse oauthResponse = mapper.readValue(responseBody, ApigeeOauthResponse.class);
-                    String accessToken = oauthResponse.accessToken();
-
-                    if (accessToken == null || accessToken.isEmpty()) {
-                        log.error("OAuth2 response contains null or empty access_token. Response: {}", responseBody);
-                        throw new RuntimeException("OAuth2 response missing access_token");
-                    }
+            ApigeeOauthResponse oauthResponse = mapper.readValue(responseBody, ApigeeOauthResponse.class);
+            String accessToken = oauthResponse.accessToken();
 
-                    log.info("Successfully extracted bearer token (length: {} characters)", accessToken.length());
-                    return accessToken;
-
-                } catch (Exception e) {
-                    log.error("Failed to parse OAuth2 response. Response body: {}", responseBody, e);
-                    throw new RuntimeException("Failed to parse OAuth2 response: " + e.getMessage(), e);
-                }
-            } else {
-                int statusCode = response.statusCode();
-                String responseBody = response.body();
-                log.error("OAuth2 endpoint returned error - status: {}, response: {}",
-                        statusCode, responseBody);
-                throw new RuntimeException(
-                        "Error received from OAuth2 endpoint. Status: " + statusCode + ", Response: " + responseBody);
+            if (accessToken == null || accessToken.isEmpty()) {
+                log.error("OAuth2 response contains null or empty access_token. Response: {}", responseBody);
+                throw new RuntimeException("OAuth2 response missing access_token");
             }
-        } catch (IOException | InterruptedException e) {
-            log.error("Failed to call OAuth2 endpoint at {}: {}",
-                    this.tokenEndpointUrl, e.getMessage());
-            throw new RuntimeException("Exception while attempting to call OAuth2 endpoint", e);
+
+            BearerToken bearerToken = new BearerToken(accessToken, issuedAt,
+                    resolveExpiry(oauthResponse, issuedAt));
+            log.info("Successfully extracted bearer token (length: {} characters, expires at: {})",
+                    accessToken.length(), bearerToken.expiresAt());
+            return bearerToken;
+
+        } catch (Exception e) {
+            log.error("Failed to parse OAuth2 response. Response body: {}", responseBody, e);
+            throw new RuntimeException("Failed to parse OAuth2 response: " + e.getMessage(), e);
+        }
+    }
+
+    private Instant resolveExpiry(ApigeeOauthResponse oauthResponse, Instant issuedAt) {
+        if (oauthResponse.expiresIn() != null && oauthResponse.expiresIn() > 0) {
+            return issuedAt.plusSeconds(oauthResponse.expiresIn());
+        }
+
+        Instant jwtExpiry = readJwtExpiry(oauthResponse.accessToken());
+        if (jwtExpiry != null) {
+            return jwtExpiry;
+        }
+
+        log.warn("OAuth2 response has no expires_in and the token is not a JWT with exp, assuming {} seconds",
+                DEFAULT_EXPIRES_IN_SECONDS);
+        return issuedAt.plusSeconds(DEFAULT_EXPIRES_IN_SECONDS);
+    }
+
+    /**
+     * Reads the {@code exp} claim without verifying the signature; it is only used to schedule renewal.
+     */
+    private Instant readJwtExpiry(String accessToken) {
+        String[] parts = accessToken.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+
+        try {
+            byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+            JsonNode exp = mapper.readTree(new String(payload, StandardCharsets.UTF_8)).get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (Exception e) {
+            log.debug("Access token payload is not a readable JWT: {}", e.getMessage());
+            return null;
         }
     }
 
@@ -188,6 +259,14 @@ public class ApigeeBearerTransformer extends BasicTransformer {
         );
     }
 
+    private static int getIntEnv(String name, int defaultValue) {
+        try {
+            return Integer.parseInt(System.getenv(name));
+        } catch (Exception e) {
+            return defaultValue;
+        }
+    }
+
     private Integer getTimeoutValue() {
         try {
             return Integer.parseInt(System.getenv("OAUTH2_TIMEOUT_SECONDS"));
@@ -0,0 +1,190 @@
+package com.project.token.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.InputStream;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Process-wide {@link SSLContext} that trusts the JDK's default anchors plus the certificates bundled in
+ * {@code /root_ssl_cert.pem}.
+ * <p>
+ * The trust material is built in memory on first use and shared by every HTTP client: no keystore is written
+ * to disk and no {@code javax.net.ssl} system properties are changed, so clients that rely on the JVM default
+ * trust store are unaffected.
+ */
+public final class TrustMaterial {
+
+    private static final Logger log = LogManager.getLogger(TrustMaterial.class);
+
+    static final String BUNDLED_CERTIFICATES = "/root_ssl_cert.pem";
+
+    private TrustMaterial() {
+    }
+
+    public static SSLContext sslContext() {
+        return Holder.CONTEXT;
+    }
+
+    /**
+     * The trust manager {@link #sslContext()} was initialized with.
+     */
+    static X509ExtendedTrustManager trustManager() {
+        return Holder.TRUST_MANAGER;
+    }
+
+    private static X509ExtendedTrustManager buildTrustManager() {
+        long startTime = System.nanoTime();
+
+        try {
+            X509ExtendedTrustManager jdkDefaults = trustManagerFor(null);
+            List<X509Certificate> bundled = loadBundledCertificates();
+
+            KeyStore bundledStore = KeyStore.getInstance(KeyStore.getDefaultType());
+            bundledStore.load(null, null);
+            for (int i = 0; i < bundled.size(); i++) {
+                bundledStore.setCertificateEntry("bundled-root-" + i, bundled.get(i));
+            }
+
+            X509ExtendedTrustManager trustManager =
+                    new CompositeTrustManager(jdkDefaults, trustManagerFor(bundledStore));
+            log.info("TLS trust material built in memory ({} bundled certificates) in {} ms",
+                    bundled.size(), (System.nanoTime() - startTime) / 1_000_000);
+            return trustManager;
+        } catch (Exception e) {
+            log.error("Failed to build TLS trust material: {}", e.getMessage());
+            throw new RuntimeException("Failed to build TLS trust material", e);
+        }
+    }
+
+    private static SSLContext build(X509ExtendedTrustManager trustManager) {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{trustManager}, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            log.error("Failed to build TLS trust material: {}", e.getMessage());
+            throw new RuntimeException("Failed to build TLS trust material", e);
+        }
+    }
+
+    private static List<X509Certificate> loadBundledCertificates() throws Exception {
+        try (InputStream inputStream = TrustMaterial.class.getResourceAsStream(BUNDLED_CERTIFICATES)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Missing classpath resource " + BUNDLED_CERTIFICATES);
+            }
+
+            Collection<? extends Certificate> certificates =
+                    CertificateFactory.getInstance("X.509").generateCertificates(inputStream);
+
+            List<X509Certificate> result = new ArrayList<>(certificates.size());
+            for (Certificate certificate : certificates) {
+                result.add((X509Certificate) certificate);
+            }
+            return result;
+        }
+    }
+
+    private static X509ExtendedTrustManager trustManagerFor(KeyStore keyStore) throws GeneralSecurityException {
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init(keyStore);
+
+        for (TrustManager trustManager : factory.getTrustManagers()) {
+            if (trustManager instanceof X509ExtendedTrustManager x509) {
+                return x509;
+            }
+        }
+        throw new IllegalStateException("No X509 trust manager available");
+    }
+
+    private static final class Holder {
+        private static final X509ExtendedTrustManager TRUST_MANAGER = buildTrustManager();
+        private static final SSLContext CONTEXT = build(TRUST_MANAGER);
+    }
+
+    /**
+     * Accepts a chain if either the JDK defaults or the bundled certificates accept it. Hostname and
+     * algorithm checks are left to the delegates.
+     */
+    static final class CompositeTrustManager extends X509ExtendedTrustManager {
+
+        private final X509ExtendedTrustManager primary;
+        private final X509ExtendedTrustManager secondary;
+
+        CompositeTrustManager(X509ExtendedTrustManager primary, X509ExtendedTrustManager secondary) {
+            this.primary = primary;
+            this.secondary = secondary;
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket)
+                throws CertificateException {
+            try {
+                primary.checkServerTrusted(chain, authType, socket);
+            } catch (CertificateException e) {
+                secondary.checkServerTrusted(chain, authType, socket);
+            }
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+                throws CertificateException {
+            try {
+                primary.checkServerTrusted(chain, authType, engine);
+            } catch (CertificateException e) {
+                secondary.checkServerTrusted(chain, authType, engine);
+            }
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            try {
+                primary.checkServerTrusted(chain, authType);
+            } catch (CertificateException e) {
+                secondary.checkServerTrusted(chain, authType);
+            }
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket)
+                throws CertificateException {
+            primary.checkClientTrusted(chain, authType, socket);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine)
+                throws CertificateException {
+            primary.checkClientTrusted(chain, authType, engine);
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) throws CertificateException {
+            primary.checkClientTrusted(chain, authType);
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            X509Certificate[] first = primary.getAcceptedIssuers();
+            X509Certificate[] second = secondary.getAcceptedIssuers();
+            X509Certificate[] all = Arrays.copyOf(first, first.length + second.length);
+            System.arraycopy(second, 0, all, first.length, second.length);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.token.cache;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests LRU eviction and statistics of the bounded per-key cache
+ */
+public class BoundedCacheTest {
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        System.out.println("\n=== Test: LRU eviction ===");
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2);
+
+        cache.put("dealer-a", "token-a");
+        cache.put("dealer-b", "token-b");
+        assertEquals("token-a", cache.get("dealer-a"));
+
+        cache.put("dealer-c", "token-c");
+
+        assertEquals(2, cache.size());
+        assertNull("dealer-b was least recently used", cache.peek("dealer-b"));
+        assertEquals("token-a", cache.peek("dealer-a"));
+        assertEquals("token-c", cache.peek("dealer-c"));
+        assertEquals(1, cache.stats().evictions());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testReplacingValueDoesNotEvict() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 2);
+
+        cache.put("dealer-a", "token-1");
+        cache.put("dealer-b", "token-1");
+        cache.put("dealer-a", "token-2");
+
+        assertEquals(2, cache.size());
+        assertEquals("token-2", cache.peek("dealer-a"));
+        assertEquals(0, cache.stats().evictions());
+    }
+
+    @Test
+    public void testStats() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10);
+        cache.put("dealer-a", "token-a");
+
+        cache.get("dealer-a");
+        cache.get("dealer-a");
+        cache.get("dealer-a");
+        cache.get("dealer-x");
+        cache.peek("dealer-y");
+
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0.75, stats.hitRate(), 0.0001);
+        assertEquals(1, stats.size());
+        assertEquals(10, stats.maxSize());
+    }
+
+    @Test
+    public void testSizeStaysBoundedUnderConcurrentInserts() throws Exception {
+        System.out.println("\n=== Test: bounded size with many tenants ===");
+        int maxSize = 50;
+        BoundedCache<String, String> cache = new BoundedCache<>("test", maxSize);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 1000;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    String key = "dealer-" + (offset + i);
+                    cache.put(key, key);
+                    cache.get(key);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        CacheStats stats = cache.stats();
+        System.out.println("Stats after 8000 tenants: " + stats);
+        assertTrue(stats.size() <= maxSize);
+        assertEquals(8000 - stats.size(), stats.evictions());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsZeroSize() {
+        new BoundedCache<String, String>("test", 0);
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.token.http;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests connection reuse, protocol fallback and timing hooks of SharedHttpTransport against a local HTTP/1.1 server
+ */
+public class SharedHttpTransportTest {
+
+    private static HttpServer server;
+    private static URI uri;
+
+    @BeforeClass
+    public static void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ping", exchange -> {
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/ping");
+    }
+
+    @AfterClass
+    public static void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testClientIsShared() {
+        assertSame(SharedHttpTransport.client(), SharedHttpTransport.client());
+        assertEquals(HttpClient.Version.HTTP_2, SharedHttpTransport.client().version());
+    }
+
+    @Test
+    public void testRenewReplacesClient() throws Exception {
+        HttpClient before = SharedHttpTransport.client();
+
+        SharedHttpTransport.renew();
+
+        HttpClient after = SharedHttpTransport.client();
+        assertNotSame(before, after);
+        assertSame(after, SharedHttpTransport.client());
+
+        HttpResponse<String> response = SharedHttpTransport.sendAsync(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+        assertEquals("pong", response.body());
+    }
+
+    @Test
+    public void testListenerReceivesTimings() throws Exception {
+        System.out.println("\n=== Test: HTTP timing hooks ===");
+        List<SharedHttpTransport.Exchange> exchanges = new CopyOnWriteArrayList<>();
+        SharedHttpTransport.Listener listener = exchanges::add;
+        SharedHttpTransport.addListener(listener);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                HttpResponse<String> response = SharedHttpTransport.sendAsync(
+                        HttpRequest.newBuilder(uri).GET().build(),
+                        HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+
+                assertEquals("pong", response.body());
+                // The local server does not speak HTTP/2, so the preferred protocol falls back
+                assertEquals(HttpClient.Version.HTTP_1_1, response.version());
+            }
+        } finally {
+            SharedHttpTransport.removeListener(listener);
+        }
+
+        assertEquals(3, exchanges.size());
+        for (SharedHttpTransport.Exchange exchange : exchanges) {
+            System.out.println(exchange.method() + " " + exchange.uri() + " first byte: "
+                    + exchange.timeToFirstByteMillis() + " ms, total: " + exchange.totalMillis() + " ms");
+            assertEquals("GET", exchange.method());
+            assertEquals(200, exchange.statusCode());
+            assertNull(exchange.error());
+            assertTrue(exchange.timeToFirstByteNanos() >= 0);
+            assertTrue(exchange.totalNanos() >= exchange.timeToFirstByteNanos());
+        }
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testFailedExchangeReported() throws Exception {
+        List<SharedHttpTransport.Exchange> exchanges = new CopyOnWriteArrayList<>();
+        SharedHttpTransport.Listener listener = exchanges::add;
+        SharedHttpTransport.addListener(listener);
+
+        try {
+            SharedHttpTransport.sendAsync(
+                    HttpRequest.newBuilder(URI.create("http://127.0.0.1:1/unreachable")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).get(5, TimeUnit.SECONDS);
+            fail("Expected connection failure");
+        } catch (Exception e) {
+            System.out.println("Connection refused as expected: " + e.getMessage());
+        } finally {
+            SharedHttpTransport.removeListener(listener);
+        }
+
+        assertEquals(1, exchanges.size());
+        assertNotNull(exchanges.get(0).error());
+        assertEquals(-1, exchanges.get(0).statusCode());
+        assertEquals(-1, exchanges.get(0).timeToFirstByteMillis());
+    }
+}
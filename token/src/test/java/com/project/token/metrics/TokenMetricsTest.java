@@ -0,0 +1,110 @@
+package com.project.token.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the counters, timers and EMF output of TokenMetrics
+ */
+public class TokenMetricsTest {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    public void testFlushWritesEmfDocument() throws Exception {
+        System.out.println("\n=== Test: EMF document ===");
+        TokenMetrics metrics = metrics(true, Long.MAX_VALUE);
+
+        metrics.cacheLookup("test/secret", true);
+        metrics.cacheLookup("test/secret", true);
+        metrics.cacheLookup("test/secret", false);
+        metrics.startCall(TokenMetrics.Timer.OAUTH, "test/secret").success();
+        metrics.startCall(TokenMetrics.Timer.SECRETS_MANAGER, "test/secret").failure();
+        metrics.flush();
+
+        String line = out.toString(StandardCharsets.UTF_8).trim();
+        System.out.println(line);
+        JsonNode document = new ObjectMapper().readTree(line);
+
+        JsonNode directive = document.get("_aws").get("CloudWatchMetrics").get(0);
+        assertEquals("Token", directive.get("Namespace").asText());
+        assertEquals("Service", directive.get("Dimensions").get(0).get(0).asText());
+        assertEquals("token", document.get("Service").asText());
+
+        assertEquals(2, document.get("TokenCacheHit").asLong());
+        assertEquals(1, document.get("TokenCacheMiss").asLong());
+        assertEquals(1, document.get("SecretsManagerFailure").asLong());
+        assertTrue(document.get("OAuthLatency").isArray());
+        assertEquals(1, document.get("OAuthLatency").size());
+        assertFalse("Failed calls are counted, not timed", document.has("SecretsManagerLatency"));
+        assertFalse("Zero counters are omitted", document.has("TokenRefresh"));
+
+        for (JsonNode definition : directive.get("Metrics")) {
+            String name = definition.get("Name").asText();
+            assertTrue("Every declared metric has a value: " + name, document.has(name));
+        }
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testFlushResetsWindow() {
+        TokenMetrics metrics = metrics(true, Long.MAX_VALUE);
+
+        metrics.increment(TokenMetrics.Counter.REFRESH);
+        assertEquals(1, metrics.count(TokenMetrics.Counter.REFRESH));
+        metrics.flush();
+        assertEquals(0, metrics.count(TokenMetrics.Counter.REFRESH));
+
+        out.reset();
+        metrics.flush();
+        assertEquals("Nothing recorded, nothing written", 0, out.size());
+    }
+
+    @Test
+    public void testStampedWithFirstRecordTime() throws Exception {
+        TokenMetrics metrics = metrics(true, Long.MAX_VALUE);
+
+        long recordedAt = System.currentTimeMillis();
+        metrics.increment(TokenMetrics.Counter.CACHE_MISS);
+        Thread.sleep(50);
+        long flushedAt = System.currentTimeMillis();
+        metrics.flush();
+
+        long timestamp = new ObjectMapper().readTree(out.toString(StandardCharsets.UTF_8).trim())
+                .get("_aws").get("Timestamp").asLong();
+        assertTrue("Stamped when recorded, not when flushed: " + timestamp,
+                timestamp >= recordedAt && timestamp < flushedAt);
+    }
+
+    @Test
+    public void testFlushedWhenIntervalElapses() {
+        TokenMetrics metrics = metrics(true, 0);
+
+        metrics.increment(TokenMetrics.Counter.CACHE_MISS);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("\"TokenCacheMiss\":1"));
+    }
+
+    @Test
+    public void testDisabledStillCounts() {
+        TokenMetrics metrics = metrics(false, Long.MAX_VALUE);
+
+        metrics.cacheLookup("test/secret", false);
+        assertEquals(1, metrics.count(TokenMetrics.Counter.CACHE_MISS));
+        metrics.flush();
+
+        assertEquals(0, out.size());
+    }
+
+    private TokenMetrics metrics(boolean enabled, long flushIntervalMillis) {
+        return new TokenMetrics(enabled, "Token", "token", flushIntervalMillis,
+                new PrintStream(out, true, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,385 @@
+package com.project.token.provider;
+
+import com.project.token.exception.CircuitOpenException;
+import com.project.token.exception.TokenEndpointException;
+import com.project.token.metrics.TokenMetrics;
+import com.project.token.model.BearerToken;
+import com.project.token.transformer.ApigeeBearerTransformer;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.services.secretsmanager.SecretsManagerClient;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretRequest;
+import software.amazon.awssdk.services.secretsmanager.model.DescribeSecretResponse;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueRequest;
+import software.amazon.awssdk.services.secretsmanager.model.GetSecretValueResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the expiry-aware, refresh-ahead token cache in SSMApigeeProvider
+ */
+public class TokenCacheTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+    private static final String SECRET = "{\"username\":\"client\",\"password\":\"secret\"}";
+    private static final String ROTATED_SECRET = "{\"username\":\"client\",\"password\":\"rotated\"}";
+
+    static {
+        // SSMApigeeProvider and ApigeeBearerTransformer resolve these at class load time
+        System.setProperty("AWS_REGION", "us-east-1");
+        System.setProperty("TOKEN_SECRET_NAME", "test/secret");
+        System.setProperty("TOKEN_ENDPOINT_URL", "https://test.example.com/oauth/token");
+    }
+
+    private MutableClock clock;
+    private SecretsManagerClient client;
+    private ApigeeBearerTransformer transformer;
+    private SSMApigeeProvider provider;
+
+    @Before
+    public void setUp() {
+        clock = new MutableClock(START);
+
+        client = mock(SecretsManagerClient.class);
+        when(client.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(secret(SECRET, "v1"));
+        when(client.describeSecret(any(DescribeSecretRequest.class)))
+                .thenReturn(currentVersion("v1"));
+
+        transformer = mock(ApigeeBearerTransformer.class);
+
+        provider = SSMApigeeProvider.builder()
+                .withClient(client)
+                .withTransformer(transformer)
+                .withClock(clock)
+                .build();
+    }
+
+    @Test
+    public void testCachedTokenReusedUntilRefreshPoint() {
+        System.out.println("\n=== Test: token served from cache ===");
+        when(transformer.fetchToken(anyString())).thenReturn(token("token-1", START, 3600));
+
+        assertEquals("token-1", provider.getToken(null));
+        clock.advance(Duration.ofMinutes(30));
+        assertEquals("token-1", provider.getToken(null));
+
+        verify(transformer, times(1)).fetchToken(SECRET);
+        assertEquals(1, provider.metrics().count(TokenMetrics.Counter.CACHE_MISS));
+        assertEquals(1, provider.metrics().count(TokenMetrics.Counter.CACHE_HIT));
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testRefreshAheadServesCurrentTokenWhileRenewing() throws Exception {
+        System.out.println("\n=== Test: background refresh ahead of expiry ===");
+        when(transformer.fetchToken(anyString()))
+                .thenReturn(token("token-1", START, 3600))
+                .thenAnswer(invocation -> token("token-2", clock.instant(), 3600));
+
+        assertEquals("token-1", provider.getToken(null));
+
+        // Past 75% of the usable window: current token is returned, renewal happens off the caller's thread
+        clock.advance(Duration.ofMinutes(45));
+        assertEquals("token-1", provider.getToken(null));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        String current = "token-1";
+        while ("token-1".equals(current) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            current = provider.getToken(null);
+        }
+
+        assertEquals("token-2", current);
+        verify(transformer, times(2)).fetchToken(SECRET);
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testStaleTokenFetchedSynchronously() {
+        when(transformer.fetchToken(anyString()))
+                .thenReturn(token("token-1", START, 3600))
+                .thenAnswer(invocation -> token("token-2", clock.instant(), 3600));
+
+        assertEquals("token-1", provider.getToken(null));
+
+        // Inside the safety margin the old token must not be handed out any more
+        clock.advance(Duration.ofSeconds(3600 - 30));
+        assertEquals("token-2", provider.getToken(null));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneFetch() throws Exception {
+        System.out.println("\n=== Test: concurrent cache misses coalesced ===");
+        when(transformer.fetchToken(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return token("token-1", START, 3600);
+        });
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return provider.getToken(null);
+                }));
+            }
+            start.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("token-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(transformer, times(1)).fetchToken(SECRET);
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testTokenRefreshReusesCachedCredentials() {
+        System.out.println("\n=== Test: token refresh without reading the secret again ===");
+        when(transformer.fetchToken(anyString()))
+                .thenReturn(token("token-1", START, 3600))
+                .thenAnswer(invocation -> token("token-2", clock.instant(), 3600));
+
+        assertEquals("token-1", provider.getToken(null));
+        clock.advance(Duration.ofSeconds(3600));
+        assertEquals("token-2", provider.getToken(null));
+
+        // Version check is metadata only; the secret value was read once
+        verify(client, times(1)).getSecretValue(any(GetSecretValueRequest.class));
+        verify(client, times(1)).describeSecret(any(DescribeSecretRequest.class));
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testRotatedSecretDetectedByVersion() {
+        when(transformer.fetchToken(anyString())).thenAnswer(invocation -> token("token", clock.instant(), 3600));
+        when(client.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(secret(SECRET, "v1"))
+                .thenReturn(secret(ROTATED_SECRET, "v2"));
+        when(client.describeSecret(any(DescribeSecretRequest.class))).thenReturn(currentVersion("v2"));
+
+        provider.getToken(null);
+        clock.advance(Duration.ofMinutes(16));
+        provider.invalidate(null);
+        provider.getToken(null);
+
+        verify(transformer).fetchToken(SECRET);
+        verify(transformer).fetchToken(ROTATED_SECRET);
+    }
+
+    @Test
+    public void testUnauthorizedReloadsRotatedCredentials() {
+        when(client.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(secret(SECRET, "v1"))
+                .thenReturn(secret(ROTATED_SECRET, "v2"));
+        when(transformer.fetchToken(SECRET)).thenThrow(new TokenEndpointException(401, "invalid_client"));
+        when(transformer.fetchToken(ROTATED_SECRET)).thenReturn(token("token-2", START, 3600));
+
+        assertEquals("token-2", provider.getToken(null));
+    }
+
+    @Test
+    public void testUnauthorizedWithUnchangedCredentialsFails() {
+        when(transformer.fetchToken(anyString())).thenThrow(new TokenEndpointException(401, "invalid_client"));
+
+        try {
+            provider.getToken(null);
+            fail("Expected TokenEndpointException");
+        } catch (TokenEndpointException e) {
+            assertEquals(401, e.getStatusCode());
+        }
+
+        // One token request, no retry with the same credentials
+        verify(transformer, times(1)).fetchToken(SECRET);
+    }
+
+    @Test
+    public void testAsyncCacheHitCompletesImmediately() throws Exception {
+        System.out.println("\n=== Test: async token API ===");
+        when(transformer.fetchToken(anyString())).thenReturn(token("token-1", START, 3600));
+        provider.getToken(null);
+
+        CompletableFuture<String> token = provider.getTokenAsync(null);
+
+        assertTrue(token.isDone());
+        assertEquals("token-1", token.get());
+        verify(transformer, never()).fetchTokenAsync(anyString());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testAsyncMissesShareOneFetch() throws Exception {
+        CompletableFuture<BearerToken> pending = new CompletableFuture<>();
+        when(transformer.fetchTokenAsync(anyString())).thenReturn(pending);
+
+        List<CompletableFuture<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(provider.getTokenAsync(null));
+        }
+
+        // The Secrets Manager lookup runs on the background pool; wait until the POST has been issued
+        verify(transformer, timeout(5000).times(1)).fetchTokenAsync(SECRET);
+        assertFalse(callers.get(0).isDone());
+
+        pending.complete(token("token-1", START, 3600));
+        for (CompletableFuture<String> caller : callers) {
+            assertEquals("token-1", caller.get(5, TimeUnit.SECONDS));
+        }
+
+        // Now cached for synchronous callers too
+        assertEquals("token-1", provider.getToken(null));
+        verify(transformer, never()).fetchToken(anyString());
+    }
+
+    @Test
+    public void testAsyncUnauthorizedReloadsRotatedCredentials() throws Exception {
+        when(client.getSecretValue(any(GetSecretValueRequest.class)))
+                .thenReturn(secret(SECRET, "v1"))
+                .thenReturn(secret(ROTATED_SECRET, "v2"));
+        when(transformer.fetchTokenAsync(SECRET))
+                .thenReturn(CompletableFuture.failedFuture(new TokenEndpointException(401, "invalid_client")));
+        when(transformer.fetchTokenAsync(ROTATED_SECRET))
+                .thenReturn(CompletableFuture.completedFuture(token("token-2", START, 3600)));
+
+        assertEquals("token-2", provider.getTokenAsync(null).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testStillValidTokenServedWhileEndpointFails() {
+        System.out.println("\n=== Test: cached token served during endpoint outage ===");
+        when(transformer.fetchToken(anyString()))
+                .thenReturn(token("token-1", START, 3600))
+                .thenThrow(new TokenEndpointException(503, "unavailable"));
+
+        assertEquals("token-1", provider.getToken(null));
+
+        // Inside the safety margin but not expired: the outage is hidden from callers
+        clock.advance(Duration.ofSeconds(3570));
+        assertEquals("token-1", provider.getToken(null));
+
+        // Once the token has really expired the failure surfaces
+        clock.advance(Duration.ofSeconds(60));
+        try {
+            provider.getToken(null);
+            fail("Expected TokenEndpointException");
+        } catch (TokenEndpointException e) {
+            assertEquals(503, e.getStatusCode());
+        }
+        assertEquals(1, provider.metrics().count(TokenMetrics.Counter.STALE_FALLBACK));
+        assertEquals(2, provider.metrics().count(TokenMetrics.Counter.OAUTH_FAILURE));
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testCircuitOpensAfterConsecutiveFailures() {
+        when(transformer.fetchToken(anyString())).thenThrow(new TokenEndpointException(503, "unavailable"));
+
+        for (int i = 0; i < 5; i++) {
+            try {
+                provider.getToken(null);
+                fail("Expected TokenEndpointException");
+            } catch (TokenEndpointException e) {
+                assertEquals(503, e.getStatusCode());
+            }
+        }
+
+        try {
+            provider.getToken(null);
+            fail("Expected CircuitOpenException");
+        } catch (CircuitOpenException e) {
+            System.out.println("Rejected while open: " + e.getMessage());
+        }
+        verify(transformer, times(5)).fetchToken(SECRET);
+        assertEquals(1, provider.metrics().count(TokenMetrics.Counter.CIRCUIT_REJECTED));
+    }
+
+    @Test
+    public void testInvalidateForcesFetch() {
+        when(transformer.fetchToken(anyString()))
+                .thenReturn(token("token-1", START, 3600))
+                .thenReturn(token("token-2", START, 3600));
+
+        assertEquals("token-1", provider.getToken(null));
+        provider.invalidate(null);
+        assertEquals("token-2", provider.getToken(null));
+    }
+
+    @Test
+    public void testCachedTokenWindow() {
+        SSMApigeeProvider.CachedToken cached = SSMApigeeProvider.CachedToken.of(token("t", START, 3600), 60, 0.75);
+        assertEquals(START.plusSeconds(3540), cached.staleAt());
+        assertEquals(START.plusSeconds(2655), cached.refreshAt());
+
+        // Margin is capped at half the lifetime for short-lived tokens
+        SSMApigeeProvider.CachedToken shortLived = SSMApigeeProvider.CachedToken.of(token("t", START, 60), 60, 0.5);
+        assertEquals(START.plusSeconds(30), shortLived.staleAt());
+        assertEquals(START.plusSeconds(15), shortLived.refreshAt());
+    }
+
+    private static GetSecretValueResponse secret(String value, String versionId) {
+        return GetSecretValueResponse.builder().secretString(value).versionId(versionId).build();
+    }
+
+    private static DescribeSecretResponse currentVersion(String versionId) {
+        return DescribeSecretResponse.builder()
+                .versionIdsToStages(Map.of(versionId, List.of("AWSCURRENT")))
+                .build();
+    }
+
+    private static BearerToken token(String value, Instant issuedAt, long expiresInSeconds) {
+        return new BearerToken(value, issuedAt, issuedAt.plusSeconds(expiresInSeconds));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.project.token.resilience;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests retries with decorrelated jitter, hedging and the circuit breaker
+ */
+public class ResilienceTest {
+
+    private static final RetryPolicy FAST_RETRIES = new RetryPolicy(3, 1, 5);
+
+    @Test
+    public void testDecorrelatedJitterStaysWithinBounds() {
+        RetryPolicy policy = new RetryPolicy(5, 100, 2000);
+        long previous = 0;
+        for (int i = 0; i < 1000; i++) {
+            long delay = policy.nextDelayMillis(previous);
+            assertTrue(delay >= 100);
+            assertTrue(delay <= Math.min(2000, Math.max(100, previous) * 3));
+            previous = delay;
+        }
+    }
+
+    @Test
+    public void testRetriesTransientFailures() throws Exception {
+        System.out.println("\n=== Test: retry until success ===");
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = AsyncResilience.retry(() -> attempts.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(new IOException("connection reset"))
+                        : CompletableFuture.completedFuture("token"),
+                FAST_RETRIES, error -> error instanceof IOException);
+
+        assertEquals("token", result.get(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testStopsAfterMaxAttempts() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = AsyncResilience.retry(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IOException("timeout"));
+        }, FAST_RETRIES, error -> true);
+
+        assertFailsWith(IOException.class, result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testDoesNotRetryPermanentFailures() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+
+        CompletableFuture<String> result = AsyncResilience.retry(() -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalArgumentException("bad credentials"));
+        }, FAST_RETRIES, error -> error instanceof IOException);
+
+        assertFailsWith(IllegalArgumentException.class, result);
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    public void testHedgedRequestWinsWhenFirstIsSlow() throws Exception {
+        System.out.println("\n=== Test: hedged request ===");
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger hedges = new AtomicInteger();
+
+        CompletableFuture<String> result = AsyncResilience.hedge(
+                () -> calls.incrementAndGet() == 1 ? slow : CompletableFuture.completedFuture("hedged"),
+                20, hedges::incrementAndGet);
+
+        assertEquals("hedged", result.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertEquals(1, hedges.get());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testNoHedgeWhenFirstIsFast() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> result = AsyncResilience.hedge(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("fast");
+        }, 20, () -> fail("Should not hedge"));
+
+        assertEquals("fast", result.get(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testLatencyPercentile() {
+        LatencyTracker tracker = new LatencyTracker(100, 20);
+        assertEquals(-1, tracker.percentile(95));
+
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(i);
+        }
+        assertEquals(95, tracker.percentile(95));
+        assertEquals(50, tracker.percentile(50));
+    }
+
+    @Test
+    public void testCircuitBreakerLifecycle() {
+        System.out.println("\n=== Test: circuit breaker ===");
+        MutableClock clock = new MutableClock();
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, Duration.ofSeconds(30), clock);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        // After the open period exactly one trial call is let through
+        clock.now = clock.now.plusSeconds(31);
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        clock.now = clock.now.plusSeconds(31);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire());
+        System.out.println("✓ Test passed");
+    }
+
+    private static void assertFailsWith(Class<? extends Throwable> type, CompletableFuture<?> future)
+            throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected " + type.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue("Unexpected cause: " + e.getCause(), type.isInstance(e.getCause()));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
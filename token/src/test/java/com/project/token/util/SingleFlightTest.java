@@ -0,0 +1,213 @@
+package com.project.token.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests coalescing of concurrent loads, plus a benchmark against uncoordinated callers
+ */
+public class SingleFlightTest {
+
+    private static final int THREADS = 64;
+    private static final long LOAD_MILLIS = 200;
+
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        System.out.println("\n=== Test: concurrent callers share one load ===");
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        List<String> results = runConcurrently(THREADS, () -> singleFlight.execute("token", () -> {
+            loads.incrementAndGet();
+            sleep(LOAD_MILLIS);
+            return "value";
+        }));
+
+        assertEquals(1, loads.get());
+        assertEquals(THREADS, results.size());
+        assertTrue(results.stream().allMatch("value"::equals));
+        assertEquals(0, singleFlight.inFlightCount());
+        System.out.println("✓ Test passed");
+    }
+
+    @Test
+    public void testFailureReachesEveryWaiter() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        List<String> results = runConcurrently(THREADS, () -> {
+            try {
+                return singleFlight.execute("token", () -> {
+                    loads.incrementAndGet();
+                    sleep(LOAD_MILLIS);
+                    throw new IllegalStateException("endpoint down");
+                });
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        });
+
+        assertEquals(1, loads.get());
+        assertTrue(results.stream().allMatch("endpoint down"::equals));
+
+        // A failed load is not remembered: the next call tries again
+        assertEquals("recovered", singleFlight.execute("token", () -> "recovered"));
+    }
+
+    @Test
+    public void testDifferentKeysLoadIndependently() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        AtomicInteger next = new AtomicInteger();
+        runConcurrently(4, () -> {
+            String key = "key-" + (next.getAndIncrement() % 2);
+            return singleFlight.execute(key, () -> {
+                loads.incrementAndGet();
+                sleep(LOAD_MILLIS);
+                return key;
+            });
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testAsyncCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.executeAsync("token", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = singleFlight.executeAsync("token", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+
+        // Cancelling one caller's future leaves the shared load and the other caller untouched
+        second.cancel(true);
+        pending.complete("value");
+
+        assertEquals("value", first.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    public void testSyncCallerJoinsAsyncLoad() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        singleFlight.executeAsync("token", () -> pending);
+
+        CompletableFuture<String> syncCaller = new CompletableFuture<>();
+        Thread caller = new Thread(() -> {
+            try {
+                syncCaller.complete(singleFlight.execute("token", () -> "second load"));
+            } catch (RuntimeException e) {
+                syncCaller.completeExceptionally(e);
+            }
+        });
+        caller.start();
+
+        // Complete the load only once the caller is parked on it, however slowly its thread got scheduled
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (caller.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals("Sync caller should be waiting on the async load", Thread.State.WAITING, caller.getState());
+        pending.completeExceptionally(new IllegalStateException("endpoint down"));
+
+        try {
+            syncCaller.join();
+            fail("Expected the shared failure");
+        } catch (Exception e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void benchmarkTokenFetchBurst() throws Exception {
+        System.out.println("\n=== Benchmark: " + THREADS + " concurrent callers, " + LOAD_MILLIS + " ms fetch ===");
+
+        AtomicInteger uncoordinatedLoads = new AtomicInteger();
+        long uncoordinatedStart = System.nanoTime();
+        runConcurrently(THREADS, () -> {
+            uncoordinatedLoads.incrementAndGet();
+            sleep(LOAD_MILLIS);
+            return "value";
+        });
+        long uncoordinatedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - uncoordinatedStart);
+
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger coalescedLoads = new AtomicInteger();
+        long coalescedStart = System.nanoTime();
+        runConcurrently(THREADS, () -> singleFlight.execute("token", () -> {
+            coalescedLoads.incrementAndGet();
+            sleep(LOAD_MILLIS);
+            return "value";
+        }));
+        long coalescedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - coalescedStart);
+
+        System.out.printf("Uncoordinated: %d upstream fetches, %d ms%n", uncoordinatedLoads.get(), uncoordinatedMillis);
+        System.out.printf("Single-flight: %d upstream fetches, %d ms%n", coalescedLoads.get(), coalescedMillis);
+
+        assertEquals(THREADS, uncoordinatedLoads.get());
+        assertEquals(1, coalescedLoads.get());
+    }
+
+    /**
+     * Starts all tasks together and returns their results.
+     */
+    private static <T> List<T> runConcurrently(int threads, Supplier<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                Callable<T> callable = () -> {
+                    ready.countDown();
+                    start.await();
+                    return task.get();
+                };
+                futures.add(executor.submit(callable));
+            }
+
+            assertTrue(ready.await(5, TimeUnit.SECONDS));
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
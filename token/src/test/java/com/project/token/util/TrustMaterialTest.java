@@ -0,0 +1,69 @@
+package com.project.token.util;
+
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManagerFactory;
+import javax.net.ssl.X509ExtendedTrustManager;
+import java.io.InputStream;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the shared in-memory trust material
+ */
+public class TrustMaterialTest {
+
+    @Test
+    public void testContextIsSharedAndInitialized() throws Exception {
+        SSLContext first = TrustMaterial.sslContext();
+        SSLContext second = TrustMaterial.sslContext();
+
+        assertSame(first, second);
+        assertNotNull(first.getSocketFactory());
+        assertNull("System properties must not be touched", System.getProperty("javax.net.ssl.trustStore"));
+    }
+
+    @Test
+    public void testTrustsJdkAnchorsAndBundledRoot() throws Exception {
+        List<X509Certificate> issuers = Arrays.asList(TrustMaterial.trustManager().getAcceptedIssuers());
+        List<X509Certificate> jdkAnchors = Arrays.asList(defaultTrustManager().getAcceptedIssuers());
+        List<X509Certificate> bundled = readBundledCertificates();
+
+        assertFalse(jdkAnchors.isEmpty());
+        assertTrue("JDK default anchors should be kept", issuers.containsAll(jdkAnchors));
+        assertTrue("Bundled root should be accepted", issuers.containsAll(bundled));
+        // The bundled root may also be a JDK anchor, so check that both sources were added
+        assertEquals(jdkAnchors.size() + bundled.size(), issuers.size());
+    }
+
+    private static List<X509Certificate> readBundledCertificates() throws Exception {
+        try (InputStream in = TrustMaterial.class.getResourceAsStream(TrustMaterial.BUNDLED_CERTIFICATES)) {
+            assertNotNull(TrustMaterial.BUNDLED_CERTIFICATES + " must be on the classpath", in);
+            List<X509Certificate> certificates = new ArrayList<>();
+            for (Certificate certificate : CertificateFactory.getInstance("X.509").generateCertificates(in)) {
+                certificates.add((X509Certificate) certificate);
+            }
+            assertFalse(certificates.isEmpty());
+            return certificates;
+        }
+    }
+
+    private static X509ExtendedTrustManager defaultTrustManager() throws Exception {
+        TrustManagerFactory factory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        factory.init((KeyStore) null);
+        for (var trustManager : factory.getTrustManagers()) {
+            if (trustManager instanceof X509ExtendedTrustManager x509) {
+                return x509;
+            }
+        }
+        throw new IllegalStateException("No X509 trust manager");
+    }
+}